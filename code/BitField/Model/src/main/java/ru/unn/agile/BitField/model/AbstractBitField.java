@@ -0,0 +1,62 @@
+package ru.unn.agile.BitField.model;
+
+abstract class AbstractBitField implements BitStorage {
+    static final int WORD_ADDRESS_BITS = 6;
+
+    private final int bitLen;
+    private final int wordCount;
+
+    AbstractBitField(final int len) {
+        if (len < 0) {
+            throw new NegativeArraySizeException("Field length is negative: " + len);
+        }
+        bitLen = len;
+        wordCount = getWordCount(len);
+    }
+
+    static int getWordCount(final int len) {
+        return (int) ((len + (long) Long.SIZE - 1) >>> WORD_ADDRESS_BITS);
+    }
+
+    final void checkBounds(final int idx) {
+        if (!(idx > -1 && idx < bitLen)) {
+            throw new ArrayIndexOutOfBoundsException(idx);
+        }
+    }
+
+    final void checkWordBounds(final int wordIdx) {
+        if (!(wordIdx > -1 && wordIdx < wordCount)) {
+            throw new ArrayIndexOutOfBoundsException(wordIdx);
+        }
+    }
+
+    final void checkSizes(final BitStorage field) {
+        if (bitLen != field.getLength()) {
+            throw new ArrayIndexOutOfBoundsException("Fields have different sizes!");
+        }
+    }
+
+    final long getLastWordMask() {
+        return -1L >>> -bitLen;
+    }
+
+    public final int getLength() {
+        return bitLen;
+    }
+
+    public final int getWordCount() {
+        return wordCount;
+    }
+
+    public boolean isEquals(final BitStorage field) {
+        if (bitLen != field.getLength()) {
+            return false;
+        }
+        for (int i = 0; i < wordCount; i++) {
+            if (getWord(i) != field.getWord(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,166 @@
+package ru.unn.agile.BitField.model;
+
+import java.util.Arrays;
+
+final class ArrayContainer extends Container {
+    private static final int START_CAPACITY = 4;
+
+    private char[] values;
+    private int size;
+
+    ArrayContainer() {
+        values = new char[START_CAPACITY];
+    }
+
+    private ArrayContainer(final char[] values, final int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    static int getSizeInBytes(final int cardinality) {
+        return cardinality * Character.BYTES;
+    }
+
+    static ArrayContainer fromWords(final long[] words, final int cardinality) {
+        char[] values = new char[cardinality];
+        int size = 0;
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                values[size++] = (char) (i * Long.SIZE + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return new ArrayContainer(values, size);
+    }
+
+    private int indexOf(final int low) {
+        return Arrays.binarySearch(values, 0, size, (char) low);
+    }
+
+    @Override
+    boolean contains(final int low) {
+        return indexOf(low) >= 0;
+    }
+
+    @Override
+    Container add(final int low) {
+        final int idx = indexOf(low);
+        if (idx >= 0) {
+            return this;
+        }
+        if (size == MAX_ARRAY_SIZE) {
+            long[] words = new long[CHUNK_WORDS];
+            copyTo(words);
+            return new BitmapContainer(words, size).add(low);
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.min(size * 2, MAX_ARRAY_SIZE));
+        }
+        final int insertAt = -idx - 1;
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        values[insertAt] = (char) low;
+        size++;
+        return this;
+    }
+
+    @Override
+    Container remove(final int low) {
+        final int idx = indexOf(low);
+        if (idx >= 0) {
+            System.arraycopy(values, idx + 1, values, idx, size - idx - 1);
+            size--;
+        }
+        return size == 0 ? null : this;
+    }
+
+    @Override
+    int cardinality() {
+        return size;
+    }
+
+    @Override
+    int nextSetBit(final int low) {
+        final int idx = indexOf(low);
+        final int next = idx >= 0 ? idx : -idx - 1;
+        return next < size ? values[next] : -1;
+    }
+
+    @Override
+    long getWord(final int wordIdx) {
+        long word = 0;
+        final int first = wordIdx * Long.SIZE;
+        final int idx = indexOf(first);
+        for (int i = idx >= 0 ? idx : -idx - 1; i < size && values[i] < first + Long.SIZE; i++) {
+            word |= 1L << values[i];
+        }
+        return word;
+    }
+
+    @Override
+    void copyTo(final long[] words) {
+        Arrays.fill(words, 0);
+        for (int i = 0; i < size; i++) {
+            words[values[i] / Long.SIZE] |= 1L << values[i];
+        }
+    }
+
+    @Override
+    Container copy() {
+        return new ArrayContainer(Arrays.copyOf(values, size), size);
+    }
+
+    @Override
+    int getSizeInBytes() {
+        return getSizeInBytes(values.length);
+    }
+
+    @Override
+    Container combine(final Container container, final LogicOperation operation,
+                      final long[] left, final long[] right) {
+        if (operation == LogicOperation.AND) {
+            return intersect(container);
+        }
+        if (container instanceof ArrayContainer
+                && size + container.cardinality() <= MAX_ARRAY_SIZE) {
+            return merge((ArrayContainer) container, operation == LogicOperation.OR);
+        }
+        return super.combine(container, operation, left, right);
+    }
+
+    private Container intersect(final Container container) {
+        char[] result = new char[size];
+        int resultSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (container.contains(values[i])) {
+                result[resultSize++] = values[i];
+            }
+        }
+        return resultSize == 0 ? null : new ArrayContainer(result, resultSize);
+    }
+
+    private Container merge(final ArrayContainer container, final boolean keepCommon) {
+        char[] result = new char[size + container.size];
+        int resultSize = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < container.size) {
+            if (values[i] < container.values[j]) {
+                result[resultSize++] = values[i++];
+            } else if (values[i] > container.values[j]) {
+                result[resultSize++] = container.values[j++];
+            } else {
+                if (keepCommon) {
+                    result[resultSize++] = values[i];
+                }
+                i++;
+                j++;
+            }
+        }
+        System.arraycopy(values, i, result, resultSize, size - i);
+        resultSize += size - i;
+        System.arraycopy(container.values, j, result, resultSize, container.size - j);
+        resultSize += container.size - j;
+        return resultSize == 0 ? null : new ArrayContainer(result, resultSize);
+    }
+}
@@ -0,0 +1,116 @@
+package ru.unn.agile.BitField.model;
+
+public final class BitExpression {
+    private static final int OP_AND = -1;
+    private static final int OP_OR = -2;
+    private static final int OP_XOR = -3;
+    private static final int OP_NOT = -4;
+
+    private final int[] program;
+    private final int stackDepth;
+    private final int fieldCount;
+
+    private BitExpression(final int[] program, final int stackDepth, final int fieldCount) {
+        this.program = program;
+        this.stackDepth = stackDepth;
+        this.fieldCount = fieldCount;
+    }
+
+    public static BitExpression field(final int fieldIdx) {
+        if (fieldIdx < 0) {
+            throw new IllegalArgumentException("Field index can't be negative!");
+        }
+        return new BitExpression(new int[] {fieldIdx}, 1, fieldIdx + 1);
+    }
+
+    public BitExpression and(final BitExpression expression) {
+        return combine(expression, OP_AND);
+    }
+
+    public BitExpression or(final BitExpression expression) {
+        return combine(expression, OP_OR);
+    }
+
+    public BitExpression xor(final BitExpression expression) {
+        return combine(expression, OP_XOR);
+    }
+
+    public BitExpression not() {
+        int[] result = new int[program.length + 1];
+        System.arraycopy(program, 0, result, 0, program.length);
+        result[program.length] = OP_NOT;
+        return new BitExpression(result, stackDepth, fieldCount);
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    public BitField evaluate(final BitField... fields) {
+        checkFieldCount(fields);
+        BitField result = new BitField(fields[0].getLength());
+        evaluateInto(result, fields);
+        return result;
+    }
+
+    public void evaluateInto(final BitField result, final BitField... fields) {
+        checkFieldCount(fields);
+        long[][] words = new long[fieldCount][];
+        for (int i = 0; i < fieldCount; i++) {
+            result.checkSizes(fields[i]);
+            words[i] = fields[i].getMem();
+        }
+        long[] resultWords = result.getMem();
+        long[] stack = new long[stackDepth];
+        for (int wordIdx = 0; wordIdx < resultWords.length; wordIdx++) {
+            resultWords[wordIdx] = evaluateWord(words, wordIdx, stack);
+        }
+        result.clearUnusedBits();
+    }
+
+    private long evaluateWord(final long[][] words, final int wordIdx, final long[] stack) {
+        int top = -1;
+        for (int instruction : program) {
+            switch (instruction) {
+                case OP_AND:
+                    top--;
+                    stack[top] &= stack[top + 1];
+                    break;
+                case OP_OR:
+                    top--;
+                    stack[top] |= stack[top + 1];
+                    break;
+                case OP_XOR:
+                    top--;
+                    stack[top] ^= stack[top + 1];
+                    break;
+                case OP_NOT:
+                    stack[top] = ~stack[top];
+                    break;
+                default:
+                    top++;
+                    stack[top] = words[instruction][wordIdx];
+                    break;
+            }
+        }
+        return stack[0];
+    }
+
+    private BitExpression combine(final BitExpression expression, final int operation) {
+        int[] result = new int[program.length + expression.program.length + 1];
+        System.arraycopy(program, 0, result, 0, program.length);
+        System.arraycopy(expression.program, 0, result, program.length,
+                expression.program.length);
+        result[result.length - 1] = operation;
+        return new BitExpression(result,
+                Math.max(stackDepth, expression.stackDepth + 1),
+                Math.max(fieldCount, expression.fieldCount));
+    }
+
+    private void checkFieldCount(final BitField... fields) {
+        if (fields.length < fieldCount) {
+            throw new IllegalArgumentException("Expression needs " + fieldCount
+                    + " fields, but " + fields.length + " were given!");
+        }
+    }
+}
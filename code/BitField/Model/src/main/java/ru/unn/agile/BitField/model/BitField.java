@@ -1,41 +1,45 @@
 package ru.unn.agile.BitField.model;
 
-public class BitField {
-    private final int bitLen;
-    private int[] mem;
-    private final int memLen;
+public class BitField extends AbstractBitField {
+    private static final long WORD_MASK = 0xFFFFFFFFFFFFFFFFL;
+
+    private final long[] mem;
 
     public BitField(final int len) {
-        bitLen = len;
-        memLen = (len + Integer.SIZE - 1) >> (int) (Math.log(Integer.SIZE) / Math.log(2));
-        mem = new int[memLen];
+        super(len);
+        mem = new long[getWordCount()];
     }
 
     public BitField(final BitField bitfield) {
-        bitLen = bitfield.bitLen;
-        memLen = bitfield.memLen;
-        mem = new int[memLen];
-        System.arraycopy(bitfield.mem, 0, mem, 0, memLen);
+        super(bitfield.getLength());
+        mem = bitfield.mem.clone();
     }
 
-    private void checkBounds(final int idx) {
-        if (!(idx > -1 && idx < bitLen)) {
-            throw new ArrayIndexOutOfBoundsException(idx);
+    public BitField(final BitStorage storage) {
+        this(storage.getLength());
+        for (int i = 0; i < mem.length; i++) {
+            mem[i] = storage.getWord(i);
         }
+        clearUnusedBits();
     }
 
-    private void checkSizes(final BitField field) {
-        if (bitLen != field.bitLen) {
-            throw new ArrayIndexOutOfBoundsException("Fields have different sizes!");
-        }
+    private static int getMemIndex(final int idx) {
+        return idx >>> WORD_ADDRESS_BITS;
     }
 
-    private int getMemIndex(final int idx) {
-        return idx >> (int) (Math.log(Integer.SIZE) / Math.log(2));
+    private static long getMemMask(final int idx) {
+        return 1L << idx;
+    }
+
+    final void clearUnusedBits() {
+        if (mem.length > 0) {
+            mem[mem.length - 1] &= getLastWordMask();
+        }
     }
 
-    private int getMemMask(final int idx) {
-        return 1 << (idx & (Integer.SIZE - 1));
+    public long getWord(final int wordIdx) {
+        checkWordBounds(wordIdx);
+        return mem[wordIdx];
     }
 
     public void setBit(final int idx) {
@@ -53,84 +57,124 @@ public class BitField {
         return ((mem[getMemIndex(idx)] & getMemMask(idx)) == 0) ? 0 : 1;
     }
 
-    public boolean isEquals(final BitField field) {
-        if (bitLen == field.bitLen) {
-            for (int i = 0; i < memLen; i++) {
-                if (mem[i] != field.mem[i]) {
-                    return false;
-                }
+    public int cardinality() {
+        int count = 0;
+        for (int i = 0; i < mem.length; i++) {
+            count += Long.bitCount(mem[i]);
+        }
+        return count;
+    }
+
+    public int nextSetBit(final int fromIdx) {
+        if (fromIdx < 0) {
+            throw new ArrayIndexOutOfBoundsException(fromIdx);
+        }
+        if (fromIdx >= getLength()) {
+            return -1;
+        }
+        int wordIdx = getMemIndex(fromIdx);
+        long word = mem[wordIdx] & (WORD_MASK << fromIdx);
+        while (word == 0) {
+            if (++wordIdx == mem.length) {
+                return -1;
             }
-        } else {
-            return false;
+            word = mem[wordIdx];
         }
-        return true;
+        return (wordIdx << WORD_ADDRESS_BITS) + Long.numberOfTrailingZeros(word);
     }
 
-    public String toString() {
-        String result = "";
-        for (int i = 0; i < bitLen; i++) {
-            if (getBit(i) == 1) {
-                result += "1";
-            } else {
-                result += "0";
+    public int nextClearBit(final int fromIdx) {
+        if (fromIdx < 0) {
+            throw new ArrayIndexOutOfBoundsException(fromIdx);
+        }
+        if (fromIdx >= getLength()) {
+            return -1;
+        }
+        int wordIdx = getMemIndex(fromIdx);
+        long word = ~mem[wordIdx] & (WORD_MASK << fromIdx);
+        while (word == 0) {
+            if (++wordIdx == mem.length) {
+                return -1;
             }
+            word = ~mem[wordIdx];
         }
-        return result;
+        final int result = (wordIdx << WORD_ADDRESS_BITS) + Long.numberOfTrailingZeros(word);
+        return result < getLength() ? result : -1;
+    }
+
+    public String toString() {
+        char[] result = new char[getLength()];
+        for (int i = 0; i < getLength(); i++) {
+            result[i] = (mem[getMemIndex(i)] & getMemMask(i)) == 0 ? '0' : '1';
+        }
+        return new String(result);
     }
 
     public static BitField fromString(final String str) {
-        if (str.matches("[01]+")) {
-            BitField result = new BitField(str.length());
-            int i = 0;
-            char ch;
-            while (i < result.bitLen) {
-                ch = str.charAt(i);
-                if (ch == '0') {
-                    result.clrBit(i++);
-                } else if (ch == '1') {
-                    result.setBit(i++);
-                } else {
-                    break;
-                }
+        if (str.isEmpty()) {
+            return null;
+        }
+        BitField result = new BitField(str.length());
+        for (int i = 0; i < result.getLength(); i++) {
+            final char ch = str.charAt(i);
+            if (ch == '1') {
+                result.mem[getMemIndex(i)] |= getMemMask(i);
+            } else if (ch != '0') {
+                return null;
             }
-            return result;
         }
-        return null;
+        return result;
     }
 
     public BitField and(final BitField field) {
+        return new BitField(this).andInPlace(field);
+    }
+
+    public BitField or(final BitField field) {
+        return new BitField(this).orInPlace(field);
+    }
+
+    public BitField xor(final BitField field) {
+        return new BitField(this).xorInPlace(field);
+    }
+
+    public BitField not() {
+        return new BitField(this).notInPlace();
+    }
+
+    public BitField andInPlace(final BitField field) {
         checkSizes(field);
-        BitField res = new BitField(this);
-        for (int i = 0; i < res.memLen; i++) {
-            res.mem[i] &= field.mem[i];
+        for (int i = 0; i < mem.length; i++) {
+            mem[i] &= field.mem[i];
         }
-        return res;
+        return this;
     }
 
-    public BitField or(final BitField field) {
+    public BitField orInPlace(final BitField field) {
         checkSizes(field);
-        BitField res = new BitField(this);
-        for (int i = 0; i < res.memLen; i++) {
-            res.mem[i] |= field.mem[i];
+        for (int i = 0; i < mem.length; i++) {
+            mem[i] |= field.mem[i];
         }
-        return res;
+        return this;
     }
 
-    public BitField xor(final BitField field) {
+    public BitField xorInPlace(final BitField field) {
         checkSizes(field);
-        BitField res = new BitField(this);
-        for (int i = 0; i < res.memLen; i++) {
-            res.mem[i] ^= field.mem[i];
+        for (int i = 0; i < mem.length; i++) {
+            mem[i] ^= field.mem[i];
         }
-        return res;
+        return this;
     }
 
-    public BitField not() {
-        BitField res = new BitField(bitLen);
-        for (int i = 0; i < memLen; i++) {
-            res.mem[i] = ~mem[i];
+    public BitField notInPlace() {
+        for (int i = 0; i < mem.length; i++) {
+            mem[i] = ~mem[i];
         }
-        return res;
+        clearUnusedBits();
+        return this;
     }
-}
 
+    long[] getMem() {
+        return mem;
+    }
+}
@@ -0,0 +1,288 @@
+package ru.unn.agile.BitField.model;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+public final class BitFieldCodec {
+    private static final int BINARY = 'B';
+    private static final int RLE = 'R';
+    private static final int BUFFER_SIZE = 8192;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int VARINT_MASK = 0x7F;
+    private static final int VARINT_FLAG = 0x80;
+    private static final int VARINT_SHIFT = 7;
+    private static final int VARINT_MAX_SHIFT = 28;
+
+    private BitFieldCodec() {
+    }
+
+    public static void writeBinary(final BitStorage field, final OutputStream out)
+            throws IOException {
+        ByteWriter writer = new ByteWriter(out);
+        writer.writeByte(BINARY);
+        writer.writeInt(field.getLength());
+        for (int i = 0; i < field.getWordCount(); i++) {
+            writer.writeLong(field.getWord(i));
+        }
+        writer.flush();
+    }
+
+    public static void writeRle(final BitStorage field, final OutputStream out)
+            throws IOException {
+        ByteWriter writer = new ByteWriter(out);
+        writer.writeByte(RLE);
+        writer.writeInt(field.getLength());
+        int position = 0;
+        boolean value = false;
+        while (position < field.getLength()) {
+            final int next = findChange(field, position, value);
+            writer.writeVarInt(next - position);
+            position = next;
+            value = !value;
+        }
+        writer.flush();
+    }
+
+    /**
+     * Consumes exactly the bytes of one field, so several fields can be read from one stream.
+     */
+    public static BitField read(final InputStream in) throws IOException {
+        return read(new ByteReader(in));
+    }
+
+    private static BitField read(final ByteReader reader) throws IOException {
+        final int format = reader.readByte();
+        final int len = reader.readInt();
+        if (len < 0) {
+            throw new IOException("Corrupted bit field: negative length " + len);
+        }
+        BitField field = new BitField(len);
+        if (format == BINARY) {
+            reader.readLongs(field.getMem());
+            field.clearUnusedBits();
+        } else if (format == RLE) {
+            readRuns(reader, field);
+        } else {
+            throw new IOException("Unknown bit field format: " + format);
+        }
+        return field;
+    }
+
+    public static void writeBinary(final BitStorage field, final ByteBuffer buffer)
+            throws IOException {
+        writeBinary(field, new ByteBufferOutputStream(buffer));
+    }
+
+    public static void writeRle(final BitStorage field, final ByteBuffer buffer)
+            throws IOException {
+        writeRle(field, new ByteBufferOutputStream(buffer));
+    }
+
+    public static BitField read(final ByteBuffer buffer) throws IOException {
+        return read(new ByteReader(new ByteBufferInputStream(buffer)));
+    }
+
+    private static int findChange(final BitStorage field, final int from, final boolean value) {
+        final long flip = value ? -1L : 0;
+        int wordIdx = from / Long.SIZE;
+        long word = (field.getWord(wordIdx) ^ flip) & (-1L << from);
+        while (word == 0) {
+            if (++wordIdx == field.getWordCount()) {
+                return field.getLength();
+            }
+            word = field.getWord(wordIdx) ^ flip;
+        }
+        return Math.min(field.getLength(), wordIdx * Long.SIZE + Long.numberOfTrailingZeros(word));
+    }
+
+    private static void readRuns(final ByteReader reader, final BitField field)
+            throws IOException {
+        final int len = field.getLength();
+        int position = 0;
+        boolean value = false;
+        while (position < len) {
+            final int run = reader.readVarInt();
+            if (run < 0 || run > len - position) {
+                throw new IOException("Corrupted bit field: run exceeds field length");
+            }
+            if (value && run > 0) {
+                Container.setRange(field.getMem(), position, position + run);
+            }
+            position += run;
+            value = !value;
+        }
+    }
+
+    private static final class ByteWriter {
+        private final OutputStream out;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int size;
+
+        ByteWriter(final OutputStream out) {
+            this.out = out;
+        }
+
+        private void reserve(final int bytes) throws IOException {
+            if (size + bytes > BUFFER_SIZE) {
+                out.write(buffer, 0, size);
+                size = 0;
+            }
+        }
+
+        void writeByte(final int value) throws IOException {
+            reserve(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeInt(final int value) throws IOException {
+            reserve(Integer.BYTES);
+            for (int i = 0; i < Integer.BYTES; i++) {
+                buffer[size++] = (byte) (value >>> (i * Byte.SIZE));
+            }
+        }
+
+        void writeLong(final long value) throws IOException {
+            reserve(Long.BYTES);
+            for (int i = 0; i < Long.BYTES; i++) {
+                buffer[size++] = (byte) (value >>> (i * Byte.SIZE));
+            }
+        }
+
+        void writeVarInt(final int value) throws IOException {
+            int rest = value;
+            while ((rest & ~VARINT_MASK) != 0) {
+                writeByte((rest & VARINT_MASK) | VARINT_FLAG);
+                rest >>>= VARINT_SHIFT;
+            }
+            writeByte(rest);
+        }
+
+        void flush() throws IOException {
+            out.write(buffer, 0, size);
+            size = 0;
+            out.flush();
+        }
+    }
+
+    private static final class ByteReader {
+        private final InputStream in;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        ByteReader(final InputStream in) {
+            this.in = in;
+        }
+
+        private void require(final int bytes) throws IOException {
+            if (limit - position >= bytes) {
+                return;
+            }
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+            while (limit < bytes) {
+                final int count = in.read(buffer, limit, bytes - limit);
+                if (count < 0) {
+                    throw new EOFException("Unexpected end of bit field data");
+                }
+                limit += count;
+            }
+        }
+
+        private long decode(final int bytes) {
+            long value = 0;
+            for (int i = 0; i < bytes; i++) {
+                value |= (long) (buffer[position++] & BYTE_MASK) << (i * Byte.SIZE);
+            }
+            return value;
+        }
+
+        int readByte() throws IOException {
+            require(1);
+            return buffer[position++] & BYTE_MASK;
+        }
+
+        int readInt() throws IOException {
+            require(Integer.BYTES);
+            return (int) decode(Integer.BYTES);
+        }
+
+        void readLongs(final long[] words) throws IOException {
+            int i = 0;
+            while (i < words.length) {
+                final int count = Math.min(words.length - i, BUFFER_SIZE / Long.BYTES);
+                require(count * Long.BYTES);
+                for (int j = 0; j < count; j++) {
+                    words[i++] = decode(Long.BYTES);
+                }
+            }
+        }
+
+        int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift <= VARINT_MAX_SHIFT; shift += VARINT_SHIFT) {
+                final int next = readByte();
+                value |= (next & VARINT_MASK) << shift;
+                if ((next & VARINT_FLAG) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Corrupted bit field: run length is too long");
+        }
+    }
+
+    private static final class ByteBufferOutputStream extends OutputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferOutputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(final int value) throws IOException {
+            checkRemaining(1);
+            buffer.put((byte) value);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length)
+                throws IOException {
+            checkRemaining(length);
+            buffer.put(bytes, offset, length);
+        }
+
+        private void checkRemaining(final int length) throws IOException {
+            if (buffer.remaining() < length) {
+                throw new IOException("Buffer is too small for bit field: " + length
+                        + " bytes needed, " + buffer.remaining() + " remaining");
+            }
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & BYTE_MASK : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
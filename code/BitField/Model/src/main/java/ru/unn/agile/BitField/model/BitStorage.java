@@ -0,0 +1,9 @@
+package ru.unn.agile.BitField.model;
+
+public interface BitStorage {
+    int getLength();
+
+    int getWordCount();
+
+    long getWord(int wordIdx);
+}
@@ -0,0 +1,69 @@
+package ru.unn.agile.BitField.model;
+
+import java.util.Arrays;
+
+final class BitmapContainer extends Container {
+    private final long[] words;
+    private int cardinality;
+
+    BitmapContainer(final long[] words, final int cardinality) {
+        this.words = Arrays.copyOf(words, CHUNK_WORDS);
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    boolean contains(final int low) {
+        return (words[low / Long.SIZE] & (1L << low)) != 0;
+    }
+
+    @Override
+    Container add(final int low) {
+        if (!contains(low)) {
+            words[low / Long.SIZE] |= 1L << low;
+            cardinality++;
+        }
+        return this;
+    }
+
+    @Override
+    Container remove(final int low) {
+        if (contains(low)) {
+            words[low / Long.SIZE] &= ~(1L << low);
+            cardinality--;
+            if (cardinality <= MAX_ARRAY_SIZE) {
+                return ArrayContainer.fromWords(words, cardinality);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    int nextSetBit(final int low) {
+        return findSetBit(words, low);
+    }
+
+    @Override
+    long getWord(final int wordIdx) {
+        return words[wordIdx];
+    }
+
+    @Override
+    void copyTo(final long[] destination) {
+        System.arraycopy(words, 0, destination, 0, CHUNK_WORDS);
+    }
+
+    @Override
+    Container copy() {
+        return new BitmapContainer(words, cardinality);
+    }
+
+    @Override
+    int getSizeInBytes() {
+        return BITMAP_BYTES;
+    }
+}
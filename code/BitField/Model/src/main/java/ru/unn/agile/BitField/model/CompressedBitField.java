@@ -0,0 +1,211 @@
+package ru.unn.agile.BitField.model;
+
+import java.util.Arrays;
+
+public class CompressedBitField extends AbstractBitField {
+    private static final int CHUNK_WORD_BITS = Container.CHUNK_BITS - WORD_ADDRESS_BITS;
+
+    private final Container[] chunks;
+
+    public CompressedBitField(final int len) {
+        super(len);
+        chunks = new Container[(int) ((len + (long) Container.CHUNK_SIZE - 1)
+                >>> Container.CHUNK_BITS)];
+    }
+
+    public CompressedBitField(final CompressedBitField field) {
+        this(field.getLength());
+        for (int i = 0; i < chunks.length; i++) {
+            if (field.chunks[i] != null) {
+                chunks[i] = field.chunks[i].copy();
+            }
+        }
+    }
+
+    public CompressedBitField(final BitStorage storage) {
+        this(storage.getLength());
+        final int wordCount = storage.getWordCount();
+        long[] words = new long[Container.CHUNK_WORDS];
+        for (int i = 0; i < chunks.length; i++) {
+            final int firstWord = i << CHUNK_WORD_BITS;
+            Arrays.fill(words, 0);
+            for (int j = 0; j < Container.CHUNK_WORDS && firstWord + j < wordCount; j++) {
+                words[j] = storage.getWord(firstWord + j);
+            }
+            chunks[i] = Container.fromWords(words);
+        }
+    }
+
+    private int getChunkLength(final int chunkIdx) {
+        return Math.min(Container.CHUNK_SIZE, getLength() - (chunkIdx << Container.CHUNK_BITS));
+    }
+
+    public long getWord(final int wordIdx) {
+        checkWordBounds(wordIdx);
+        final Container chunk = chunks[wordIdx >>> CHUNK_WORD_BITS];
+        return chunk == null ? 0 : chunk.getWord(wordIdx & (Container.CHUNK_WORDS - 1));
+    }
+
+    public void setBit(final int idx) {
+        checkBounds(idx);
+        final int chunkIdx = idx >>> Container.CHUNK_BITS;
+        if (chunks[chunkIdx] == null) {
+            chunks[chunkIdx] = new ArrayContainer();
+        }
+        chunks[chunkIdx] = chunks[chunkIdx].add(idx & Container.CHUNK_MASK);
+    }
+
+    public void clrBit(final int idx) {
+        checkBounds(idx);
+        final int chunkIdx = idx >>> Container.CHUNK_BITS;
+        if (chunks[chunkIdx] != null) {
+            chunks[chunkIdx] = chunks[chunkIdx].remove(idx & Container.CHUNK_MASK);
+        }
+    }
+
+    public int getBit(final int idx) {
+        checkBounds(idx);
+        final Container chunk = chunks[idx >>> Container.CHUNK_BITS];
+        return chunk != null && chunk.contains(idx & Container.CHUNK_MASK) ? 1 : 0;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (Container chunk : chunks) {
+            if (chunk != null) {
+                count += chunk.cardinality();
+            }
+        }
+        return count;
+    }
+
+    public int nextSetBit(final int fromIdx) {
+        if (fromIdx < 0) {
+            throw new ArrayIndexOutOfBoundsException(fromIdx);
+        }
+        if (fromIdx >= getLength()) {
+            return -1;
+        }
+        int low = fromIdx & Container.CHUNK_MASK;
+        for (int i = fromIdx >>> Container.CHUNK_BITS; i < chunks.length; i++) {
+            final int next = chunks[i] == null ? -1 : chunks[i].nextSetBit(low);
+            if (next >= 0) {
+                return (i << Container.CHUNK_BITS) + next;
+            }
+            low = 0;
+        }
+        return -1;
+    }
+
+    public long getSizeInBytes() {
+        long size = 0;
+        for (Container chunk : chunks) {
+            if (chunk != null) {
+                size += chunk.getSizeInBytes();
+            }
+        }
+        return size;
+    }
+
+    public void optimize() {
+        long[] words = new long[Container.CHUNK_WORDS];
+        for (int i = 0; i < chunks.length; i++) {
+            if (chunks[i] != null) {
+                chunks[i].copyTo(words);
+                chunks[i] = Container.fromWords(words);
+            }
+        }
+    }
+
+    @Override
+    public boolean isEquals(final BitStorage field) {
+        if (field instanceof CompressedBitField && getLength() == field.getLength()) {
+            return chunksEqual((CompressedBitField) field);
+        }
+        return super.isEquals(field);
+    }
+
+    private boolean chunksEqual(final CompressedBitField field) {
+        long[] left = new long[Container.CHUNK_WORDS];
+        long[] right = new long[Container.CHUNK_WORDS];
+        for (int i = 0; i < chunks.length; i++) {
+            if (!chunkEquals(chunks[i], field.chunks[i], left, right)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean chunkEquals(final Container chunk, final Container otherChunk,
+                                       final long[] left, final long[] right) {
+        if (chunk == null || otherChunk == null) {
+            return chunk == null && otherChunk == null;
+        }
+        if (chunk.cardinality() != otherChunk.cardinality()) {
+            return false;
+        }
+        chunk.copyTo(left);
+        otherChunk.copyTo(right);
+        return Arrays.equals(left, right);
+    }
+
+    public BitField toBitField() {
+        return new BitField(this);
+    }
+
+    public CompressedBitField and(final CompressedBitField field) {
+        return combine(field, LogicOperation.AND);
+    }
+
+    public CompressedBitField or(final CompressedBitField field) {
+        return combine(field, LogicOperation.OR);
+    }
+
+    public CompressedBitField xor(final CompressedBitField field) {
+        return combine(field, LogicOperation.XOR);
+    }
+
+    public CompressedBitField not() {
+        CompressedBitField res = new CompressedBitField(getLength());
+        long[] words = new long[Container.CHUNK_WORDS];
+        for (int i = 0; i < chunks.length; i++) {
+            if (chunks[i] == null) {
+                Arrays.fill(words, 0);
+            } else {
+                chunks[i].copyTo(words);
+            }
+            for (int j = 0; j < Container.CHUNK_WORDS; j++) {
+                words[j] = ~words[j];
+            }
+            final int chunkLength = getChunkLength(i);
+            if (chunkLength < Container.CHUNK_SIZE) {
+                final int lastWord = chunkLength / Long.SIZE;
+                words[lastWord] &= ~(-1L << chunkLength);
+                Arrays.fill(words, lastWord + 1, Container.CHUNK_WORDS, 0);
+            }
+            res.chunks[i] = Container.fromWords(words);
+        }
+        return res;
+    }
+
+    private CompressedBitField combine(final CompressedBitField field,
+                                       final LogicOperation operation) {
+        checkSizes(field);
+        CompressedBitField res = new CompressedBitField(getLength());
+        long[] left = new long[Container.CHUNK_WORDS];
+        long[] right = new long[Container.CHUNK_WORDS];
+        for (int i = 0; i < chunks.length; i++) {
+            final Container chunk = chunks[i];
+            final Container otherChunk = field.chunks[i];
+            if (chunk == null || otherChunk == null) {
+                final Container single = chunk == null ? otherChunk : chunk;
+                if (single != null && operation != LogicOperation.AND) {
+                    res.chunks[i] = single.copy();
+                }
+            } else {
+                res.chunks[i] = chunk.combine(otherChunk, operation, left, right);
+            }
+        }
+        return res;
+    }
+}
@@ -0,0 +1,130 @@
+package ru.unn.agile.BitField.model;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+public class ConcurrentBitField extends AbstractBitField {
+    private static final int PARALLEL_THRESHOLD = 16384;
+
+    private final AtomicLongArray words;
+
+    public ConcurrentBitField(final int len) {
+        super(len);
+        words = new AtomicLongArray(getWordCount());
+    }
+
+    public ConcurrentBitField(final BitStorage storage) {
+        this(storage.getLength());
+        for (int i = 0; i < getWordCount(); i++) {
+            words.set(i, storage.getWord(i));
+        }
+    }
+
+    private long update(final int wordIdx, final long operand, final LogicOperation operation) {
+        long word;
+        long updated;
+        do {
+            word = words.get(wordIdx);
+            updated = operation.apply(word, operand);
+        } while (updated != word && !words.compareAndSet(wordIdx, word, updated));
+        return word;
+    }
+
+    public long getWord(final int wordIdx) {
+        checkWordBounds(wordIdx);
+        return words.get(wordIdx);
+    }
+
+    public void setBit(final int idx) {
+        testAndSet(idx);
+    }
+
+    public void clrBit(final int idx) {
+        testAndClear(idx);
+    }
+
+    public int getBit(final int idx) {
+        checkBounds(idx);
+        return (words.get(idx >>> WORD_ADDRESS_BITS) & (1L << idx)) == 0 ? 0 : 1;
+    }
+
+    public int testAndSet(final int idx) {
+        checkBounds(idx);
+        final long mask = 1L << idx;
+        return (update(idx >>> WORD_ADDRESS_BITS, mask, LogicOperation.OR) & mask) == 0 ? 0 : 1;
+    }
+
+    public int testAndClear(final int idx) {
+        checkBounds(idx);
+        final long mask = 1L << idx;
+        return (update(idx >>> WORD_ADDRESS_BITS, ~mask, LogicOperation.AND) & mask) == 0 ? 0 : 1;
+    }
+
+    /**
+     * Sets bits from fromIdx (inclusive) to toIdx (exclusive), each word atomically.
+     * Returns the number of bits that were clear before and have been set by this call.
+     */
+    public int getAndSetRange(final int fromIdx, final int toIdx) {
+        if (fromIdx > toIdx) {
+            throw new IllegalArgumentException("Range start is greater than its end!");
+        }
+        if (fromIdx == toIdx) {
+            return 0;
+        }
+        checkBounds(fromIdx);
+        checkBounds(toIdx - 1);
+        final int firstWord = fromIdx >>> WORD_ADDRESS_BITS;
+        final int lastWord = (toIdx - 1) >>> WORD_ADDRESS_BITS;
+        int changed = 0;
+        for (int i = firstWord; i <= lastWord; i++) {
+            long mask = -1L;
+            if (i == firstWord) {
+                mask &= -1L << fromIdx;
+            }
+            if (i == lastWord) {
+                mask &= -1L >>> -toIdx;
+            }
+            changed += Long.bitCount(~update(i, mask, LogicOperation.OR) & mask);
+        }
+        return changed;
+    }
+
+    public int cardinality() {
+        IntStream indices = IntStream.range(0, getWordCount());
+        if (getWordCount() >= PARALLEL_THRESHOLD) {
+            indices = indices.parallel();
+        }
+        return indices.map(i -> Long.bitCount(words.get(i))).sum();
+    }
+
+    public ConcurrentBitField andInPlace(final BitStorage field) {
+        return updateAll(field, LogicOperation.AND);
+    }
+
+    public ConcurrentBitField orInPlace(final BitStorage field) {
+        return updateAll(field, LogicOperation.OR);
+    }
+
+    public ConcurrentBitField xorInPlace(final BitStorage field) {
+        return updateAll(field, LogicOperation.XOR);
+    }
+
+    public ConcurrentBitField notInPlace() {
+        final int lastWord = getWordCount() - 1;
+        for (int i = 0; i < lastWord; i++) {
+            update(i, -1L, LogicOperation.XOR);
+        }
+        if (lastWord >= 0) {
+            update(lastWord, getLastWordMask(), LogicOperation.XOR);
+        }
+        return this;
+    }
+
+    private ConcurrentBitField updateAll(final BitStorage field, final LogicOperation operation) {
+        checkSizes(field);
+        for (int i = 0; i < getWordCount(); i++) {
+            update(i, field.getWord(i), operation);
+        }
+        return this;
+    }
+}
@@ -0,0 +1,101 @@
+package ru.unn.agile.BitField.model;
+
+abstract class Container {
+    static final int CHUNK_BITS = 16;
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    static final int CHUNK_WORDS = CHUNK_SIZE / Long.SIZE;
+    static final int MAX_ARRAY_SIZE = 4096;
+    static final int BITMAP_BYTES = CHUNK_SIZE / Byte.SIZE;
+
+    abstract boolean contains(int low);
+
+    abstract Container add(int low);
+
+    abstract Container remove(int low);
+
+    abstract int cardinality();
+
+    abstract int nextSetBit(int low);
+
+    abstract long getWord(int wordIdx);
+
+    abstract void copyTo(long[] words);
+
+    abstract Container copy();
+
+    abstract int getSizeInBytes();
+
+    Container combine(final Container container, final LogicOperation operation,
+                      final long[] left, final long[] right) {
+        copyTo(left);
+        container.copyTo(right);
+        for (int i = 0; i < CHUNK_WORDS; i++) {
+            left[i] = operation.apply(left[i], right[i]);
+        }
+        return fromWords(left);
+    }
+
+    static Container fromWords(final long[] words) {
+        int cardinality = 0;
+        int runs = 0;
+        long previous = 0;
+        for (long word : words) {
+            cardinality += Long.bitCount(word);
+            runs += Long.bitCount(word & ~((word << 1) | (previous >>> (Long.SIZE - 1))));
+            previous = word;
+        }
+        if (cardinality == 0) {
+            return null;
+        }
+        final int runBytes = RunContainer.getSizeInBytes(runs);
+        final int arrayBytes = ArrayContainer.getSizeInBytes(cardinality);
+        if (runBytes < BITMAP_BYTES && runBytes < arrayBytes) {
+            return RunContainer.fromWords(words, runs);
+        }
+        if (cardinality <= MAX_ARRAY_SIZE) {
+            return ArrayContainer.fromWords(words, cardinality);
+        }
+        return new BitmapContainer(words, cardinality);
+    }
+
+    static void setRange(final long[] words, final int from, final int to) {
+        final int firstWord = from / Long.SIZE;
+        final int lastWord = (to - 1) / Long.SIZE;
+        final long firstMask = -1L << from;
+        final long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            words[firstWord] |= firstMask & lastMask;
+        } else {
+            words[firstWord] |= firstMask;
+            for (int i = firstWord + 1; i < lastWord; i++) {
+                words[i] = -1L;
+            }
+            words[lastWord] |= lastMask;
+        }
+    }
+
+    static int findSetBit(final long[] words, final int from) {
+        int wordIdx = from / Long.SIZE;
+        long word = words[wordIdx] & (-1L << from);
+        while (word == 0) {
+            if (++wordIdx == words.length) {
+                return -1;
+            }
+            word = words[wordIdx];
+        }
+        return wordIdx * Long.SIZE + Long.numberOfTrailingZeros(word);
+    }
+
+    static int findClearBit(final long[] words, final int from) {
+        int wordIdx = from / Long.SIZE;
+        long word = ~words[wordIdx] & (-1L << from);
+        while (word == 0) {
+            if (++wordIdx == words.length) {
+                return words.length * Long.SIZE;
+            }
+            word = ~words[wordIdx];
+        }
+        return wordIdx * Long.SIZE + Long.numberOfTrailingZeros(word);
+    }
+}
@@ -0,0 +1,21 @@
+package ru.unn.agile.BitField.model;
+
+enum LogicOperation {
+    AND {
+        long apply(final long left, final long right) {
+            return left & right;
+        }
+    },
+    OR {
+        long apply(final long left, final long right) {
+            return left | right;
+        }
+    },
+    XOR {
+        long apply(final long left, final long right) {
+            return left ^ right;
+        }
+    };
+
+    abstract long apply(long left, long right);
+}
@@ -0,0 +1,168 @@
+package ru.unn.agile.BitField.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class MappedBitField extends AbstractBitField implements Closeable {
+    private static final int MAGIC = 0x42465331;
+    private static final int HEADER_SIZE = 16;
+    private static final int LENGTH_OFFSET = 4;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final LongBuffer words;
+
+    private MappedBitField(final FileChannel channel, final int bitLen) throws IOException {
+        super(bitLen);
+        this.channel = channel;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, getFileSize(bitLen));
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(HEADER_SIZE);
+        words = buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+    }
+
+    public static MappedBitField create(final Path path, final int len) throws IOException {
+        if (len < 0) {
+            throw new NegativeArraySizeException("Field length is negative: " + len);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        boolean mapped = false;
+        try {
+            MappedBitField field = new MappedBitField(channel, len);
+            field.buffer.putInt(0, MAGIC);
+            field.buffer.putInt(LENGTH_OFFSET, len);
+            mapped = true;
+            return field;
+        } finally {
+            if (!mapped) {
+                channel.close();
+            }
+        }
+    }
+
+    public static MappedBitField open(final Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        boolean mapped = false;
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            final int len = header.getInt(LENGTH_OFFSET);
+            if (header.position() < HEADER_SIZE || header.getInt(0) != MAGIC || len < 0
+                    || channel.size() < getFileSize(len)) {
+                throw new IOException("File doesn't contain a bit field: " + path);
+            }
+            MappedBitField field = new MappedBitField(channel, len);
+            mapped = true;
+            return field;
+        } finally {
+            if (!mapped) {
+                channel.close();
+            }
+        }
+    }
+
+    private static long getFileSize(final int len) {
+        return HEADER_SIZE + (long) getWordCount(len) * Long.BYTES;
+    }
+
+    public long getWord(final int wordIdx) {
+        checkWordBounds(wordIdx);
+        return words.get(wordIdx);
+    }
+
+    public void setBit(final int idx) {
+        checkBounds(idx);
+        final int wordIdx = idx >>> WORD_ADDRESS_BITS;
+        words.put(wordIdx, words.get(wordIdx) | (1L << idx));
+    }
+
+    public void clrBit(final int idx) {
+        checkBounds(idx);
+        final int wordIdx = idx >>> WORD_ADDRESS_BITS;
+        words.put(wordIdx, words.get(wordIdx) & ~(1L << idx));
+    }
+
+    public int getBit(final int idx) {
+        checkBounds(idx);
+        return (words.get(idx >>> WORD_ADDRESS_BITS) & (1L << idx)) == 0 ? 0 : 1;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (int i = 0; i < getWordCount(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+
+    public int nextSetBit(final int fromIdx) {
+        if (fromIdx < 0) {
+            throw new ArrayIndexOutOfBoundsException(fromIdx);
+        }
+        for (int i = fromIdx >>> WORD_ADDRESS_BITS; i < getWordCount(); i++) {
+            long word = words.get(i);
+            if (i == fromIdx >>> WORD_ADDRESS_BITS) {
+                word &= -1L << fromIdx;
+            }
+            if (word != 0) {
+                return (i << WORD_ADDRESS_BITS) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return -1;
+    }
+
+    public MappedBitField andInPlace(final BitStorage field) {
+        checkSizes(field);
+        for (int i = 0; i < getWordCount(); i++) {
+            words.put(i, words.get(i) & field.getWord(i));
+        }
+        return this;
+    }
+
+    public MappedBitField orInPlace(final BitStorage field) {
+        checkSizes(field);
+        for (int i = 0; i < getWordCount(); i++) {
+            words.put(i, words.get(i) | field.getWord(i));
+        }
+        return this;
+    }
+
+    public MappedBitField xorInPlace(final BitStorage field) {
+        checkSizes(field);
+        for (int i = 0; i < getWordCount(); i++) {
+            words.put(i, words.get(i) ^ field.getWord(i));
+        }
+        return this;
+    }
+
+    public MappedBitField notInPlace() {
+        for (int i = 0; i < getWordCount(); i++) {
+            words.put(i, ~words.get(i));
+        }
+        final int lastWord = getWordCount() - 1;
+        if (lastWord >= 0) {
+            words.put(lastWord, words.get(lastWord) & getLastWordMask());
+        }
+        return this;
+    }
+
+    public void flush() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+}
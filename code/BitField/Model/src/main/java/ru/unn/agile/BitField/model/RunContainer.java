@@ -0,0 +1,183 @@
+package ru.unn.agile.BitField.model;
+
+import java.util.Arrays;
+
+final class RunContainer extends Container {
+    private char[] starts;
+    private char[] lengths;
+    private int runCount;
+
+    private RunContainer(final char[] starts, final char[] lengths, final int runCount) {
+        this.starts = starts;
+        this.lengths = lengths;
+        this.runCount = runCount;
+    }
+
+    static int getSizeInBytes(final int runs) {
+        return runs * 2 * Character.BYTES;
+    }
+
+    static RunContainer fromWords(final long[] words, final int runs) {
+        char[] starts = new char[runs];
+        char[] lengths = new char[runs];
+        int count = 0;
+        int start = findSetBit(words, 0);
+        while (start >= 0) {
+            final int end = findClearBit(words, start);
+            starts[count] = (char) start;
+            lengths[count] = (char) (end - start - 1);
+            count++;
+            start = end < CHUNK_SIZE ? findSetBit(words, end) : -1;
+        }
+        return new RunContainer(starts, lengths, count);
+    }
+
+    private int getEnd(final int runIdx) {
+        return starts[runIdx] + lengths[runIdx];
+    }
+
+    private int findRun(final int low) {
+        int left = 0;
+        int right = runCount - 1;
+        while (left <= right) {
+            final int middle = (left + right) >>> 1;
+            if (starts[middle] <= low) {
+                left = middle + 1;
+            } else {
+                right = middle - 1;
+            }
+        }
+        return right;
+    }
+
+    private void insertRun(final int runIdx, final int start, final int end) {
+        if (runCount == starts.length) {
+            final int capacity = Math.max(runCount * 2, 1);
+            starts = Arrays.copyOf(starts, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+        System.arraycopy(starts, runIdx, starts, runIdx + 1, runCount - runIdx);
+        System.arraycopy(lengths, runIdx, lengths, runIdx + 1, runCount - runIdx);
+        starts[runIdx] = (char) start;
+        lengths[runIdx] = (char) (end - start);
+        runCount++;
+    }
+
+    private void removeRun(final int runIdx) {
+        System.arraycopy(starts, runIdx + 1, starts, runIdx, runCount - runIdx - 1);
+        System.arraycopy(lengths, runIdx + 1, lengths, runIdx, runCount - runIdx - 1);
+        runCount--;
+    }
+
+    private Container toCheapest() {
+        final int runBytes = getSizeInBytes(runCount);
+        if (runBytes < BITMAP_BYTES && runBytes < ArrayContainer.getSizeInBytes(cardinality())) {
+            return this;
+        }
+        long[] words = new long[CHUNK_WORDS];
+        copyTo(words);
+        return Container.fromWords(words);
+    }
+
+    @Override
+    boolean contains(final int low) {
+        final int runIdx = findRun(low);
+        return runIdx >= 0 && low <= getEnd(runIdx);
+    }
+
+    @Override
+    Container add(final int low) {
+        final int runIdx = findRun(low);
+        if (runIdx >= 0 && low <= getEnd(runIdx)) {
+            return this;
+        }
+        final boolean extendsLeft = runIdx >= 0 && getEnd(runIdx) + 1 == low;
+        final boolean extendsRight = runIdx + 1 < runCount && starts[runIdx + 1] == low + 1;
+        if (extendsLeft && extendsRight) {
+            lengths[runIdx] = (char) (getEnd(runIdx + 1) - starts[runIdx]);
+            removeRun(runIdx + 1);
+        } else if (extendsLeft) {
+            lengths[runIdx]++;
+        } else if (extendsRight) {
+            starts[runIdx + 1]--;
+            lengths[runIdx + 1]++;
+        } else {
+            insertRun(runIdx + 1, low, low);
+        }
+        return toCheapest();
+    }
+
+    @Override
+    Container remove(final int low) {
+        final int runIdx = findRun(low);
+        if (runIdx < 0 || low > getEnd(runIdx)) {
+            return this;
+        }
+        final int start = starts[runIdx];
+        final int end = getEnd(runIdx);
+        if (start == end) {
+            removeRun(runIdx);
+        } else if (low == start) {
+            starts[runIdx]++;
+            lengths[runIdx]--;
+        } else if (low == end) {
+            lengths[runIdx]--;
+        } else {
+            lengths[runIdx] = (char) (low - start - 1);
+            insertRun(runIdx + 1, low + 1, end);
+        }
+        return runCount == 0 ? null : toCheapest();
+    }
+
+    @Override
+    int cardinality() {
+        int cardinality = runCount;
+        for (int i = 0; i < runCount; i++) {
+            cardinality += lengths[i];
+        }
+        return cardinality;
+    }
+
+    @Override
+    int nextSetBit(final int low) {
+        final int runIdx = findRun(low);
+        if (runIdx >= 0 && low <= getEnd(runIdx)) {
+            return low;
+        }
+        return runIdx + 1 < runCount ? starts[runIdx + 1] : -1;
+    }
+
+    @Override
+    long getWord(final int wordIdx) {
+        final int first = wordIdx * Long.SIZE;
+        final int last = first + Long.SIZE - 1;
+        long word = 0;
+        for (int i = Math.max(findRun(first), 0); i < runCount && starts[i] <= last; i++) {
+            final int from = Math.max(starts[i], first);
+            final int to = Math.min(getEnd(i), last);
+            if (from <= to) {
+                word |= (-1L << from) & (-1L >>> (Long.SIZE - 1 - to));
+            }
+        }
+        return word;
+    }
+
+    @Override
+    void copyTo(final long[] words) {
+        Arrays.fill(words, 0);
+        for (int i = 0; i < runCount; i++) {
+            setRange(words, starts[i], getEnd(i) + 1);
+        }
+    }
+
+    @Override
+    Container copy() {
+        return new RunContainer(Arrays.copyOf(starts, runCount),
+                Arrays.copyOf(lengths, runCount), runCount);
+    }
+
+    @Override
+    int getSizeInBytes() {
+        return getSizeInBytes(starts.length);
+    }
+}
@@ -0,0 +1,103 @@
+package ru.unn.agile.BitField.model;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BitExpressionTest {
+    private final BitField fieldA = BitField.fromString("00001111");
+    private final BitField fieldB = BitField.fromString("00110011");
+    private final BitField fieldC = BitField.fromString("01010101");
+
+    private final BitExpression a = BitExpression.field(0);
+    private final BitExpression b = BitExpression.field(1);
+    private final BitExpression c = BitExpression.field(2);
+
+    @Test
+    public void shouldEvaluateSingleField() {
+        assertEquals("Wrong string received!", "00001111", a.evaluate(fieldA).toString());
+    }
+
+    @Test
+    public void shouldEvaluateAnd() {
+        assertEquals("Wrong string received!", "00000011",
+                a.and(b).evaluate(fieldA, fieldB).toString());
+    }
+
+    @Test
+    public void shouldEvaluateOr() {
+        assertEquals("Wrong string received!", "00111111",
+                a.or(b).evaluate(fieldA, fieldB).toString());
+    }
+
+    @Test
+    public void shouldEvaluateXor() {
+        assertEquals("Wrong string received!", "00111100",
+                a.xor(b).evaluate(fieldA, fieldB).toString());
+    }
+
+    @Test
+    public void shouldEvaluateNot() {
+        assertEquals("Wrong string received!", "11110000", a.not().evaluate(fieldA).toString());
+    }
+
+    @Test
+    public void shouldEvaluateCompoundExpression() {
+        BitExpression expression = a.and(b).or(c.not());
+        assertEquals("Wrong string received!", "10101011",
+                expression.evaluate(fieldA, fieldB, fieldC).toString());
+    }
+
+    @Test
+    public void shouldEvaluateNestedRightOperand() {
+        BitExpression expression = c.xor(a.and(b.not()));
+        assertEquals("Wrong string received!", "01011001",
+                expression.evaluate(fieldA, fieldB, fieldC).toString());
+    }
+
+    @Test
+    public void shouldEvaluateIntoOperand() {
+        BitField result = new BitField(fieldA);
+        a.or(b).evaluateInto(result, result, fieldB);
+        assertEquals("Wrong string received!", "00111111", result.toString());
+    }
+
+    @Test
+    public void shouldCountFields() {
+        assertEquals("Wrong field count!", 3, a.and(c).getFieldCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotEvaluateWithMissingFields() {
+        a.and(c).evaluate(fieldA, fieldB);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateNegativeField() {
+        BitExpression.field(-1);
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void shouldNotEvaluateFieldsWithDifferentSizes() {
+        a.and(b).evaluate(fieldA, new BitField(9));
+    }
+
+    @Test
+    public void shouldMatchCopyingOperators() {
+        final int length = 100000;
+        Random random = new Random(7);
+        BitField[] fields = new BitField[3];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = new BitField(length);
+            for (int j = 0; j < length / 2; j++) {
+                fields[i].setBit(random.nextInt(length));
+            }
+        }
+        BitField expected = fields[0].and(fields[1]).or(fields[2].not());
+        BitField result = a.and(b).or(c.not()).evaluate(fields);
+        assertTrue("Fields are not equal!", expected.isEquals(result));
+    }
+}
@@ -0,0 +1,157 @@
+package ru.unn.agile.BitField.model;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BitFieldCodecTest {
+    private static final int HUGE_LENGTH = 100000000;
+
+    @Test
+    public void shouldRestoreFieldFromBinary() throws IOException {
+        BitField field = randomField(1000);
+        assertTrue("Fields are not equal!", field.isEquals(fromBytes(toBinary(field))));
+    }
+
+    @Test
+    public void shouldRestoreFieldFromRle() throws IOException {
+        BitField field = randomField(1000);
+        assertTrue("Fields are not equal!", field.isEquals(fromBytes(toRle(field))));
+    }
+
+    @Test
+    public void shouldRestoreEmptyField() throws IOException {
+        BitField field = new BitField(0);
+        assertEquals("Wrong length!", 0, fromBytes(toRle(field)).getLength());
+        assertEquals("Wrong length!", 0, fromBytes(toBinary(field)).getLength());
+    }
+
+    @Test
+    public void shouldRestoreFieldStartingWithSetBit() throws IOException {
+        BitField field = BitField.fromString("1100111");
+        assertEquals("Wrong string received!", "1100111", fromBytes(toRle(field)).toString());
+    }
+
+    @Test
+    public void shouldRestoreFieldFromByteBuffer() throws IOException {
+        BitField field = randomField(300);
+        ByteBuffer buffer = ByteBuffer.allocate(1000);
+        BitFieldCodec.writeBinary(field, buffer);
+        BitFieldCodec.writeRle(field.not(), buffer);
+        buffer.flip();
+        assertTrue("Fields are not equal!", field.isEquals(BitFieldCodec.read(buffer)));
+        assertTrue("Fields are not equal!", field.not().isEquals(BitFieldCodec.read(buffer)));
+        assertEquals("Buffer was not read!", 0, buffer.remaining());
+    }
+
+    @Test
+    public void shouldRestoreSeveralFieldsFromStream() throws IOException {
+        BitField binary = randomField(100000);
+        BitField rle = randomField(300);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BitFieldCodec.writeBinary(binary, out);
+        BitFieldCodec.writeRle(rle, out);
+        BitFieldCodec.writeBinary(rle, out);
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        assertTrue("Fields are not equal!", binary.isEquals(BitFieldCodec.read(in)));
+        assertTrue("Fields are not equal!", rle.isEquals(BitFieldCodec.read(in)));
+        assertTrue("Fields are not equal!", rle.isEquals(BitFieldCodec.read(in)));
+        assertEquals("Stream was not read!", 0, in.available());
+    }
+
+    @Test
+    public void shouldRestoreManyRleFieldsFromByteBuffer() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(100000);
+        for (int i = 1; i <= 100; i++) {
+            BitFieldCodec.writeRle(randomField(i * 10), buffer);
+        }
+        buffer.flip();
+        for (int i = 1; i <= 100; i++) {
+            BitField expected = randomField(i * 10);
+            assertTrue("Fields are not equal!", expected.isEquals(BitFieldCodec.read(buffer)));
+        }
+        assertEquals("Buffer was not read!", 0, buffer.remaining());
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldNotWriteToTooSmallBuffer() throws IOException {
+        BitFieldCodec.writeBinary(randomField(1000), ByteBuffer.allocate(16));
+    }
+
+    @Test
+    public void shouldWriteCompressedField() throws IOException {
+        CompressedBitField field = new CompressedBitField(1 << 20);
+        field.setBit(12345);
+        assertTrue("Fields are not equal!", field.isEquals(fromBytes(toRle(field))));
+    }
+
+    @Test
+    public void shouldWriteShortRleForRuns() throws IOException {
+        BitField field = new BitField(HUGE_LENGTH).notInPlace();
+        field.clrBit(HUGE_LENGTH / 2);
+        byte[] bytes = toRle(field);
+        assertTrue("Encoding is too long!", bytes.length < 20);
+        assertTrue("Fields are not equal!", field.isEquals(fromBytes(bytes)));
+    }
+
+    @Test
+    public void shouldRestoreHugeFieldFromBinary() throws IOException {
+        BitField field = new BitField(HUGE_LENGTH);
+        for (int i = 0; i < HUGE_LENGTH; i += 1001) {
+            field.setBit(i);
+        }
+        byte[] bytes = toBinary(field);
+        assertEquals("Wrong encoding size!", 5 + HUGE_LENGTH / Byte.SIZE, bytes.length);
+        assertTrue("Fields are not equal!", field.isEquals(fromBytes(bytes)));
+    }
+
+    @Test(expected = EOFException.class)
+    public void shouldNotReadTruncatedData() throws IOException {
+        byte[] bytes = toBinary(randomField(1000));
+        fromBytes(Arrays.copyOf(bytes, bytes.length - 1));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldNotReadUnknownFormat() throws IOException {
+        fromBytes(new byte[] {'X', 1, 0, 0, 0, 0});
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldNotReadTooLongRun() throws IOException {
+        fromBytes(new byte[] {'R', 2, 0, 0, 0, 3});
+    }
+
+    private BitField randomField(final int length) {
+        Random random = new Random(length);
+        BitField field = new BitField(length);
+        for (int i = 0; i < length / 2; i++) {
+            field.setBit(random.nextInt(length));
+        }
+        return field;
+    }
+
+    private byte[] toBinary(final BitStorage field) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BitFieldCodec.writeBinary(field, out);
+        return out.toByteArray();
+    }
+
+    private byte[] toRle(final BitStorage field) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BitFieldCodec.writeRle(field, out);
+        return out.toByteArray();
+    }
+
+    private BitField fromBytes(final byte[] bytes) throws IOException {
+        return BitFieldCodec.read(new ByteArrayInputStream(bytes));
+    }
+}
@@ -2,7 +2,11 @@ package ru.unn.agile.BitField.model;
 
 import org.junit.Test;
 
+import java.util.BitSet;
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class BitFieldTest {
     private BitField fieldA = BitField.fromString("0011");
@@ -72,6 +76,20 @@ public class BitFieldTest {
         assertEquals("Wrong string received!", null, BitField.fromString("00a11"));
     }
 
+    @Test
+    public void shouldNotConvertFromEmptyString() {
+        assertEquals("Wrong string received!", null, BitField.fromString(""));
+    }
+
+    @Test
+    public void shouldConvertLongFieldToString() {
+        BitField field = new BitField(1000000);
+        field.setBit(999999);
+        String str = field.toString();
+        assertEquals("Wrong string received!", '1', str.charAt(999999));
+        assertTrue("Fields are not equal!", field.isEquals(BitField.fromString(str)));
+    }
+
     @Test
     public void shouldDoAndOperation() {
         assertEquals("Wrong string received!", "0001", fieldA.and(fieldB).toString());
@@ -101,4 +119,148 @@ public class BitFieldTest {
         assert field != null;
         assertEquals("Wrong string received!", "1100", field.not().toString());
     }
+
+    @Test
+    public void shouldDoAndOperationInPlace() {
+        BitField field = new BitField(fieldA);
+        field.andInPlace(fieldB);
+        assertEquals("Wrong string received!", "0001", field.toString());
+    }
+
+    @Test
+    public void shouldDoOrOperationInPlace() {
+        BitField field = new BitField(fieldA);
+        field.orInPlace(fieldB);
+        assertEquals("Wrong string received!", "0111", field.toString());
+    }
+
+    @Test
+    public void shouldDoXorOperationInPlace() {
+        BitField field = new BitField(fieldA);
+        field.xorInPlace(fieldB);
+        assertEquals("Wrong string received!", "0110", field.toString());
+    }
+
+    @Test
+    public void shouldDoNotOperationInPlace() {
+        BitField field = new BitField(fieldA);
+        field.notInPlace();
+        assertEquals("Wrong string received!", "1100", field.toString());
+    }
+
+    @Test
+    public void shouldChainOperationsInPlace() {
+        BitField field = new BitField(fieldA);
+        assertEquals("Wrong string received!", "1110",
+                field.andInPlace(fieldB).notInPlace().toString());
+    }
+
+    @Test
+    public void shouldNotChangeOperandInPlace() {
+        BitField field = new BitField(fieldA);
+        field.orInPlace(fieldB);
+        assertEquals("Wrong string received!", "0101", fieldB.toString());
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void shouldNotDoOperationInPlaceWithDifferentSizes() {
+        new BitField(1).xorInPlace(new BitField(2));
+    }
+
+    @Test
+    public void shouldNotOperationKeepFieldLength() {
+        BitField field = BitField.fromString("0011");
+        assert field != null;
+        assertTrue("Fields are not equal!", field.not().isEquals(BitField.fromString("1100")));
+    }
+
+    @Test
+    public void shouldCountSetBits() {
+        BitField field = BitField.fromString("1011000001");
+        assert field != null;
+        assertEquals("Wrong cardinality!", 4, field.cardinality());
+    }
+
+    @Test
+    public void shouldCountSetBitsAfterNot() {
+        BitField field = new BitField(70);
+        field.setBit(69);
+        assertEquals("Wrong cardinality!", 69, field.not().cardinality());
+    }
+
+    @Test
+    public void shouldFindNextSetBitInOtherWord() {
+        BitField field = new BitField(200);
+        field.setBit(3);
+        field.setBit(150);
+        assertEquals("Wrong bit index!", 150, field.nextSetBit(4));
+    }
+
+    @Test
+    public void shouldNotFindNextSetBit() {
+        BitField field = new BitField(200);
+        field.setBit(3);
+        assertEquals("Wrong bit index!", -1, field.nextSetBit(4));
+    }
+
+    @Test
+    public void shouldFindNextClearBit() {
+        BitField field = new BitField(100).not();
+        field.clrBit(80);
+        assertEquals("Wrong bit index!", 80, field.nextClearBit(0));
+    }
+
+    @Test
+    public void shouldNotFindNextClearBitInFullField() {
+        BitField field = new BitField(100).not();
+        assertEquals("Wrong bit index!", -1, field.nextClearBit(0));
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void shouldThrowOnNegativeSearchIndex() {
+        new BitField(10).nextSetBit(-1);
+    }
+
+    @Test
+    public void shouldIterateOverWords() {
+        BitField field = new BitField(130);
+        field.setBit(0);
+        field.setBit(65);
+        field.setBit(129);
+        assertEquals("Wrong word count!", 3, field.getWordCount());
+        assertEquals("Wrong word!", 2L, field.getWord(1));
+        assertEquals("Wrong word!", 2L, field.getWord(2));
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void shouldThrowOnWrongWordIndex() {
+        new BitField(64).getWord(1);
+    }
+
+    @Test
+    public void shouldMatchJavaBitSet() {
+        final int length = 1000;
+        Random random = new Random(42);
+        BitField fieldC = new BitField(length);
+        BitField fieldD = new BitField(length);
+        BitSet setC = fillRandomly(fieldC, random);
+        BitSet setD = fillRandomly(fieldD, random);
+        setC.xor(setD);
+        BitField result = fieldC.xor(fieldD);
+
+        assertEquals("Wrong cardinality!", setC.cardinality(), result.cardinality());
+        for (int i = result.nextSetBit(0); i != -1; i = result.nextSetBit(i + 1)) {
+            assertEquals("Wrong bit index!", setC.nextSetBit(i), i);
+        }
+    }
+
+    private BitSet fillRandomly(final BitField field, final Random random) {
+        BitSet set = new BitSet(field.getLength());
+        for (int i = 0; i < field.getLength() / 3; i++) {
+            int idx = random.nextInt(field.getLength());
+            field.setBit(idx);
+            set.set(idx);
+        }
+        return set;
+    }
 }
@@ -0,0 +1,202 @@
+package ru.unn.agile.BitField.model;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompressedBitFieldTest {
+    private static final int CHUNK = 1 << 16;
+    private static final int LENGTH = 5 * CHUNK + 123;
+
+    @Test
+    public void shouldSetBit() {
+        CompressedBitField field = new CompressedBitField(10);
+        field.setBit(3);
+        assertEquals("Bit was not set!", 1, field.getBit(3));
+    }
+
+    @Test
+    public void shouldClearBit() {
+        CompressedBitField field = new CompressedBitField(10);
+        field.setBit(3);
+        field.clrBit(3);
+        assertEquals("Bit was not cleared!", 0, field.getBit(3));
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void shouldThrowOutOfBoundException() {
+        new CompressedBitField(10).setBit(10);
+    }
+
+    @Test
+    public void shouldSupportMaxLength() {
+        CompressedBitField field = new CompressedBitField(Integer.MAX_VALUE);
+        field.setBit(Integer.MAX_VALUE - 1);
+        assertEquals("Wrong bit index!", Integer.MAX_VALUE - 1, field.nextSetBit(0));
+    }
+
+    @Test
+    public void shouldUseLittleMemoryForSparseField() {
+        CompressedBitField field = new CompressedBitField(Integer.MAX_VALUE);
+        for (int i = 0; i < 1000; i++) {
+            field.setBit(i * 1000003);
+        }
+        assertEquals("Wrong cardinality!", 1000, field.cardinality());
+        assertTrue("Field is too big!", field.getSizeInBytes() < 10000);
+    }
+
+    @Test
+    public void shouldUseLittleMemoryForRuns() {
+        CompressedBitField field = new CompressedBitField(LENGTH).not();
+        field.clrBit(CHUNK + 7);
+        field.optimize();
+        assertEquals("Wrong cardinality!", LENGTH - 1, field.cardinality());
+        assertTrue("Field is too big!", field.getSizeInBytes() < 100);
+    }
+
+    @Test
+    public void shouldSwitchToBitmapForDenseChunk() {
+        CompressedBitField field = new CompressedBitField(CHUNK);
+        for (int i = 0; i < CHUNK; i += 2) {
+            field.setBit(i);
+        }
+        assertEquals("Wrong cardinality!", CHUNK / 2, field.cardinality());
+        assertEquals("Wrong size!", CHUNK / Byte.SIZE, field.getSizeInBytes());
+    }
+
+    @Test
+    public void shouldSwitchBackToArrayAfterClear() {
+        CompressedBitField field = new CompressedBitField(CHUNK);
+        for (int i = 0; i < CHUNK; i += 2) {
+            field.setBit(i);
+        }
+        for (int i = 0; i < CHUNK; i += 4) {
+            field.clrBit(i);
+        }
+        assertEquals("Wrong cardinality!", CHUNK / 4, field.cardinality());
+        assertEquals("Wrong bit index!", 2, field.nextSetBit(0));
+    }
+
+    @Test
+    public void shouldLeaveRunsForScatteredBits() {
+        CompressedBitField field = new CompressedBitField(CHUNK);
+        for (int i = 0; i < 100; i++) {
+            field.setBit(i);
+        }
+        field.optimize();
+        for (int i = 200; i < CHUNK; i += 3) {
+            field.setBit(i);
+        }
+        assertEquals("Wrong cardinality!", 100 + (CHUNK - 200 + 2) / 3, field.cardinality());
+        assertEquals("Wrong size!", CHUNK / Byte.SIZE, field.getSizeInBytes());
+    }
+
+    @Test
+    public void shouldEditRuns() {
+        CompressedBitField field = new CompressedBitField(100).not();
+        field.optimize();
+        field.clrBit(50);
+        field.clrBit(0);
+        field.clrBit(99);
+        field.setBit(50);
+        assertEquals("Wrong cardinality!", 98, field.cardinality());
+        assertEquals("Wrong bit index!", 1, field.nextSetBit(0));
+        assertEquals("Bit was not set!", 1, field.getBit(50));
+    }
+
+    @Test
+    public void shouldFindNextSetBitInOtherChunk() {
+        CompressedBitField field = new CompressedBitField(LENGTH);
+        field.setBit(3);
+        field.setBit(4 * CHUNK + 1);
+        assertEquals("Wrong bit index!", 4 * CHUNK + 1, field.nextSetBit(4));
+        assertEquals("Wrong bit index!", -1, field.nextSetBit(4 * CHUNK + 2));
+    }
+
+    @Test
+    public void shouldBeEqualToDenseField() {
+        BitField dense = randomField(new Random(1), LENGTH);
+        CompressedBitField compressed = new CompressedBitField(dense);
+        assertTrue("Fields are not equal!", compressed.isEquals(dense));
+        assertTrue("Fields are not equal!", dense.isEquals(compressed));
+        assertTrue("Fields are not equal!", compressed.toBitField().isEquals(dense));
+    }
+
+    @Test
+    public void shouldNotBeEqualToDifferentField() {
+        CompressedBitField fieldA = new CompressedBitField(LENGTH);
+        CompressedBitField fieldB = new CompressedBitField(LENGTH);
+        fieldB.setBit(CHUNK);
+        assertFalse("Fields are equal!", fieldA.isEquals(fieldB));
+        assertFalse("Fields are equal!", fieldA.isEquals(new CompressedBitField(LENGTH + 1)));
+    }
+
+    @Test
+    public void shouldNotChangeCopy() {
+        CompressedBitField field = new CompressedBitField(10);
+        CompressedBitField copy = new CompressedBitField(field);
+        copy.setBit(1);
+        assertEquals("Bit was changed!", 0, field.getBit(1));
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void shouldNotDoOperationWithDifferentSizes() {
+        new CompressedBitField(1).and(new CompressedBitField(2));
+    }
+
+    @Test
+    public void shouldMatchDenseOperations() {
+        Random random = new Random(2);
+        BitField denseA = randomField(random, LENGTH);
+        BitField denseB = randomField(random, LENGTH);
+        CompressedBitField fieldA = new CompressedBitField(denseA);
+        CompressedBitField fieldB = new CompressedBitField(denseB);
+
+        assertTrue("Wrong AND!", fieldA.and(fieldB).isEquals(denseA.and(denseB)));
+        assertTrue("Wrong OR!", fieldA.or(fieldB).isEquals(denseA.or(denseB)));
+        assertTrue("Wrong XOR!", fieldA.xor(fieldB).isEquals(denseA.xor(denseB)));
+        assertTrue("Wrong NOT!", fieldA.not().isEquals(denseA.not()));
+    }
+
+    @Test
+    public void shouldMatchDenseFieldAfterEdits() {
+        Random random = new Random(3);
+        BitField dense = randomField(random, LENGTH);
+        CompressedBitField compressed = new CompressedBitField(dense);
+        for (int i = 0; i < 100000; i++) {
+            final int idx = random.nextInt(LENGTH);
+            if (random.nextBoolean()) {
+                dense.setBit(idx);
+                compressed.setBit(idx);
+            } else {
+                dense.clrBit(idx);
+                compressed.clrBit(idx);
+            }
+        }
+        assertTrue("Fields are not equal!", compressed.isEquals(dense));
+        assertEquals("Wrong cardinality!", dense.cardinality(), compressed.cardinality());
+    }
+
+    private BitField randomField(final Random random, final int length) {
+        BitField field = new BitField(length);
+        fillChunk(field, random, 0, 10);
+        fillChunk(field, random, CHUNK, CHUNK / 2);
+        for (int i = 2 * CHUNK + random.nextInt(CHUNK); i < 4 * CHUNK; i++) {
+            field.setBit(i);
+        }
+        fillChunk(field, random, 5 * CHUNK, 100);
+        return field;
+    }
+
+    private void fillChunk(final BitField field, final Random random,
+                           final int offset, final int count) {
+        final int bound = Math.min(CHUNK, field.getLength() - offset);
+        for (int i = 0; i < count; i++) {
+            field.setBit(offset + random.nextInt(bound));
+        }
+    }
+}
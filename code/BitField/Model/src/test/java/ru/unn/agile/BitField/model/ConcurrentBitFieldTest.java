@@ -0,0 +1,137 @@
+package ru.unn.agile.BitField.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentBitFieldTest {
+    private static final int THREADS = 8;
+    private static final int LENGTH = 100000;
+
+    @Test
+    public void shouldSetBit() {
+        ConcurrentBitField field = new ConcurrentBitField(100);
+        field.setBit(70);
+        assertEquals("Bit was not set!", 1, field.getBit(70));
+    }
+
+    @Test
+    public void shouldClearBit() {
+        ConcurrentBitField field = new ConcurrentBitField(100);
+        field.setBit(70);
+        field.clrBit(70);
+        assertEquals("Bit was not cleared!", 0, field.getBit(70));
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void shouldThrowOutOfBoundException() {
+        new ConcurrentBitField(100).testAndSet(100);
+    }
+
+    @Test
+    public void shouldTestAndSet() {
+        ConcurrentBitField field = new ConcurrentBitField(10);
+        assertEquals("Bit was set before!", 0, field.testAndSet(5));
+        assertEquals("Bit was not set before!", 1, field.testAndSet(5));
+    }
+
+    @Test
+    public void shouldTestAndClear() {
+        ConcurrentBitField field = new ConcurrentBitField(10);
+        field.setBit(5);
+        assertEquals("Bit was not set before!", 1, field.testAndClear(5));
+        assertEquals("Bit was set before!", 0, field.testAndClear(5));
+    }
+
+    @Test
+    public void shouldSetRange() {
+        ConcurrentBitField field = new ConcurrentBitField(200);
+        field.setBit(100);
+        assertEquals("Wrong count of set bits!", 129, field.getAndSetRange(10, 140));
+        assertEquals("Wrong cardinality!", 130, field.cardinality());
+        assertEquals("Bit was set!", 0, field.getBit(140));
+        assertEquals("Bit was set!", 0, field.getBit(9));
+    }
+
+    @Test
+    public void shouldSetEmptyRange() {
+        ConcurrentBitField field = new ConcurrentBitField(10);
+        assertEquals("Wrong count of set bits!", 0, field.getAndSetRange(3, 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotSetReversedRange() {
+        new ConcurrentBitField(10).getAndSetRange(5, 3);
+    }
+
+    @Test
+    public void shouldDoOperationsInPlace() {
+        ConcurrentBitField field = new ConcurrentBitField(BitField.fromString("0011"));
+        field.andInPlace(BitField.fromString("0101")).orInPlace(BitField.fromString("1000"));
+        assertTrue("Wrong AND/OR!", field.isEquals(BitField.fromString("1001")));
+        field.xorInPlace(BitField.fromString("0101")).notInPlace();
+        assertTrue("Wrong XOR/NOT!", field.isEquals(BitField.fromString("0011")));
+    }
+
+    @Test
+    public void shouldCountBitsOfLargeField() {
+        ConcurrentBitField field = new ConcurrentBitField(1 << 22);
+        field.notInPlace();
+        assertEquals("Wrong cardinality!", 1 << 22, field.cardinality());
+    }
+
+    @Test
+    public void shouldNotLoseConcurrentUpdates() throws Exception {
+        final ConcurrentBitField field = new ConcurrentBitField(LENGTH);
+        runInParallel(thread -> {
+            for (int i = thread; i < LENGTH; i += THREADS) {
+                field.setBit(i);
+            }
+            return 0;
+        });
+        assertEquals("Updates were lost!", LENGTH, field.cardinality());
+    }
+
+    @Test
+    public void shouldSetEveryBitOnlyOnce() throws Exception {
+        final ConcurrentBitField field = new ConcurrentBitField(LENGTH);
+        int claimed = runInParallel(thread -> {
+            int count = 0;
+            for (int i = 0; i < LENGTH; i++) {
+                count += 1 - field.testAndSet((i * 7 + thread) % LENGTH);
+            }
+            return count + field.getAndSetRange(0, LENGTH);
+        });
+        assertEquals("Bits were claimed more than once!", LENGTH, claimed);
+    }
+
+    private int runInParallel(final Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                final int thread = i;
+                results.add(executor.submit((Callable<Integer>) () -> worker.run(thread)));
+            }
+            int sum = 0;
+            for (Future<Integer> result : results) {
+                sum += result.get();
+            }
+            return sum;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private interface Worker {
+        int run(int thread);
+    }
+}
@@ -0,0 +1,108 @@
+package ru.unn.agile.BitField.model;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MappedBitFieldTest {
+    private Path path;
+
+    @Before
+    public void setUp() throws IOException {
+        path = Files.createTempFile("bitfield", ".bin");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void shouldSetBit() throws IOException {
+        try (MappedBitField field = MappedBitField.create(path, 100)) {
+            field.setBit(70);
+            assertEquals("Bit was not set!", 1, field.getBit(70));
+        }
+    }
+
+    @Test
+    public void shouldClearBit() throws IOException {
+        try (MappedBitField field = MappedBitField.create(path, 100)) {
+            field.setBit(70);
+            field.clrBit(70);
+            assertEquals("Bit was not cleared!", 0, field.getBit(70));
+        }
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void shouldThrowOutOfBoundException() throws IOException {
+        try (MappedBitField field = MappedBitField.create(path, 100)) {
+            field.setBit(100);
+        }
+    }
+
+    @Test
+    public void shouldReopenWithSameBits() throws IOException {
+        try (MappedBitField field = MappedBitField.create(path, 1000)) {
+            field.setBit(3);
+            field.setBit(999);
+        }
+        try (MappedBitField field = MappedBitField.open(path)) {
+            assertEquals("Wrong length!", 1000, field.getLength());
+            assertEquals("Wrong cardinality!", 2, field.cardinality());
+            assertEquals("Wrong bit index!", 999, field.nextSetBit(4));
+        }
+    }
+
+    @Test
+    public void shouldSeeChangesOfOtherMapping() throws IOException {
+        try (MappedBitField writer = MappedBitField.create(path, 64);
+             MappedBitField reader = MappedBitField.open(path)) {
+            writer.setBit(5);
+            assertEquals("Bit was not set!", 1, reader.getBit(5));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldNotOpenOtherFile() throws IOException {
+        Files.write(path, new byte[] {1, 2, 3});
+        MappedBitField.open(path).close();
+    }
+
+    @Test
+    public void shouldDoOperationsInPlace() throws IOException {
+        BitField fieldB = BitField.fromString("0101");
+        try (MappedBitField field = MappedBitField.create(path, 4)) {
+            field.setBit(2);
+            field.setBit(3);
+            field.andInPlace(fieldB).orInPlace(BitField.fromString("1000"));
+            assertTrue("Wrong AND/OR!", field.isEquals(BitField.fromString("1001")));
+            field.xorInPlace(fieldB).notInPlace();
+            assertTrue("Wrong XOR/NOT!", field.isEquals(BitField.fromString("0011")));
+        }
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void shouldNotDoOperationWithDifferentSizes() throws IOException {
+        try (MappedBitField field = MappedBitField.create(path, 4)) {
+            field.orInPlace(new BitField(5));
+        }
+    }
+
+    @Test
+    public void shouldConvertToDenseField() throws IOException {
+        try (MappedBitField field = MappedBitField.create(path, 200)) {
+            field.setBit(150);
+            BitField dense = new BitField(field);
+            assertEquals("Bit was not copied!", 1, dense.getBit(150));
+            assertTrue("Fields are not equal!", dense.isEquals(field));
+        }
+    }
+}
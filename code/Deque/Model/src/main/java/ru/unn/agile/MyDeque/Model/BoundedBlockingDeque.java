@@ -0,0 +1,173 @@
+package ru.unn.agile.MyDeque.Model;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class BoundedBlockingDeque {
+    private final Deque deque = new Deque();
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    public BoundedBlockingDeque(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    public int getCurrentSize() {
+        this.lock.lock();
+        try {
+            return this.deque.getCurrentSize();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.getCurrentSize() == 0;
+    }
+
+    public void putHead(final int element) throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            while (this.deque.getCurrentSize() == this.capacity) {
+                this.notFull.await();
+            }
+            this.deque.pushHeadElement(element);
+            this.notEmpty.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public void putTail(final int element) throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            while (this.deque.getCurrentSize() == this.capacity) {
+                this.notFull.await();
+            }
+            this.deque.pushTailElement(element);
+            this.notEmpty.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public boolean offerHead(final int element, final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            if (!this.awaitNotFull(unit.toNanos(timeout))) {
+                return false;
+            }
+            this.deque.pushHeadElement(element);
+            this.notEmpty.signal();
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public boolean offerTail(final int element, final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            if (!this.awaitNotFull(unit.toNanos(timeout))) {
+                return false;
+            }
+            this.deque.pushTailElement(element);
+            this.notEmpty.signal();
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int takeHead() throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            while (this.deque.isEmpty()) {
+                this.notEmpty.await();
+            }
+            final int element = this.deque.popHeadElement();
+            this.notFull.signal();
+            return element;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int takeTail() throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            while (this.deque.isEmpty()) {
+                this.notEmpty.await();
+            }
+            final int element = this.deque.popTailElement();
+            this.notFull.signal();
+            return element;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int drainTo(final int[] dst, final int max) {
+        checkDrainLimit(max);
+        this.lock.lock();
+        try {
+            final int count = Math.min(Math.min(max, dst.length), this.deque.getCurrentSize());
+            for (int i = 0; i < count; i++) {
+                dst[i] = this.deque.popHeadElement();
+            }
+            if (count > 0) {
+                this.notFull.signalAll();
+            }
+            return count;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int drainTo(final int[] dst, final int max, final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        checkDrainLimit(max);
+        this.lock.lockInterruptibly();
+        try {
+            long nanos = unit.toNanos(timeout);
+            while (this.deque.isEmpty()) {
+                if (nanos <= 0) {
+                    return 0;
+                }
+                nanos = this.notEmpty.awaitNanos(nanos);
+            }
+            return this.drainTo(dst, max);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private static void checkDrainLimit(final int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("Max elements to drain can't be negative.");
+        }
+    }
+
+    private boolean awaitNotFull(final long timeoutNanos) throws InterruptedException {
+        long nanos = timeoutNanos;
+        while (this.deque.getCurrentSize() == this.capacity) {
+            if (nanos <= 0) {
+                return false;
+            }
+            nanos = this.notFull.awaitNanos(nanos);
+        }
+        return true;
+    }
+}
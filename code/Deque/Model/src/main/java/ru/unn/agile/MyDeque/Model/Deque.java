@@ -1,14 +1,25 @@
 package ru.unn.agile.MyDeque.Model;
 
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
 public class Deque {
     public static final int START_SIZE = 100;
     public static final int ZERO = 0;
+    private static final int SHRINK_FACTOR = 4;
     private int[] deque;
+    private int head = ZERO;
     private int currentSize = ZERO;
-    private int currentMaxSize = START_SIZE;
+    private final boolean shrinking;
 
     public Deque() {
-        this.deque = new int[currentMaxSize];
+        this(false);
+    }
+
+    public Deque(final boolean shrinking) {
+        this.deque = new int[START_SIZE];
+        this.shrinking = shrinking;
     }
 
     public int getCurrentSize() {
@@ -16,43 +27,64 @@ public class Deque {
         return currentSize;
     }
 
+    public int getCapacity() {
+        return this.deque.length;
+    }
+
     public void pushHeadElement(final int element) {
         this.increaseDeque();
-        for (int i = this.currentSize; i > 0; i--) {
-            this.deque[i] = this.deque[i - 1];
-        }
-        this.deque[0] = element;
+        this.head = this.head == 0 ? this.deque.length - 1 : this.head - 1;
+        this.deque[this.head] = element;
         this.currentSize++;
     }
 
     public void clear() {
+        this.head = 0;
         this.currentSize = 0;
+        if (this.shrinking && this.deque.length > START_SIZE) {
+            this.deque = new int[START_SIZE];
+        }
     }
 
     public int popHeadElement() {
         if (this.isEmpty()) {
             throw new RuntimeException("This deque doesn't contain items.");
         } else {
-            int popElement = this.deque[0];
-            for (int i = 0; i < this.currentSize - 1; i++) {
-                this.deque[i] = this.deque[i + 1];
-            }
+            int popElement = this.deque[this.head];
+            this.head = this.physicalIndex(1);
             this.currentSize--;
+            this.decreaseDeque();
             return popElement;
         }
     }
 
     public void pushTailElement(final int element) {
         this.increaseDeque();
-        this.deque[currentSize] = element;
+        this.deque[this.physicalIndex(this.currentSize)] = element;
         this.currentSize++;
     }
 
+    public void pushAllTail(final int[] src, final int off, final int len) {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException("Wrong range of source array.");
+        }
+        if (this.deque.length - this.currentSize < len) {
+            this.resize(Math.max(this.deque.length * 2, this.currentSize + len));
+        }
+        final int start = this.physicalIndex(this.currentSize);
+        final int firstPart = Math.min(len, this.deque.length - start);
+        System.arraycopy(src, off, this.deque, start, firstPart);
+        System.arraycopy(src, off + firstPart, this.deque, 0, len - firstPart);
+        this.currentSize += len;
+    }
+
     public int popTailElement() {
         if (this.isEmpty()) {
             throw new RuntimeException("This deque doesn't contain items.");
         } else {
-            return this.deque[--currentSize];
+            int popElement = this.deque[this.physicalIndex(--this.currentSize)];
+            this.decreaseDeque();
+            return popElement;
         }
     }
 
@@ -60,22 +92,65 @@ public class Deque {
         return this.currentSize == 0;
     }
 
-    private void increaseDeque() {
-        if (this.currentMaxSize == this.currentSize) {
-            this.currentMaxSize += START_SIZE;
-            int[] newDeque = new int[this.currentMaxSize];
-            for (int i = 0; i < this.currentSize; i++) {
-                newDeque[i] = this.deque[i];
+    public int[] toArray(final int[] dst) {
+        final int[] result = dst.length < this.currentSize ? new int[this.currentSize] : dst;
+        final int firstPart = Math.min(this.currentSize, this.deque.length - this.head);
+        System.arraycopy(this.deque, this.head, result, 0, firstPart);
+        System.arraycopy(this.deque, 0, result, firstPart, this.currentSize - firstPart);
+        return result;
+    }
+
+    public void forEach(final IntConsumer action) {
+        for (int i = 0; i < this.currentSize; i++) {
+            action.accept(this.deque[this.physicalIndex(i)]);
+        }
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int offset;
+
+            @Override
+            public boolean hasNext() {
+                return this.offset < currentSize;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return deque[physicalIndex(this.offset++)];
             }
-            this.deque = newDeque;
+        };
+    }
+
+    private int physicalIndex(final int offset) {
+        final int index = this.head + offset;
+        return index < this.deque.length ? index : index - this.deque.length;
+    }
+
+    private void increaseDeque() {
+        if (this.deque.length == this.currentSize) {
+            this.resize(this.deque.length * 2);
         }
     }
 
-    public String toString() {
-        String printedDeque = "";
-        for (int i = 0; i < this.currentSize; i++) {
-            printedDeque += this.deque[i];
+    private void decreaseDeque() {
+        if (this.shrinking && this.deque.length > START_SIZE
+                && this.currentSize < this.deque.length / SHRINK_FACTOR) {
+            this.resize(Math.max(START_SIZE, this.deque.length / 2));
         }
-        return printedDeque;
+    }
+
+    private void resize(final int newSize) {
+        this.deque = this.toArray(new int[newSize]);
+        this.head = 0;
+    }
+
+    public String toString() {
+        StringBuilder printedDeque = new StringBuilder();
+        this.forEach(printedDeque::append);
+        return printedDeque.toString();
     }
 }
@@ -0,0 +1,70 @@
+package ru.unn.agile.MyDeque.Model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class WorkStealingDeque {
+    public static final int START_SIZE = 128;
+    private final AtomicLong head = new AtomicLong();
+    private volatile long tail;
+    private volatile int[] deque = new int[START_SIZE];
+
+    public int getCurrentSize() {
+        return (int) Math.max(0, this.tail - this.head.get());
+    }
+
+    public boolean isEmpty() {
+        return this.getCurrentSize() == 0;
+    }
+
+    public void pushTailElement(final int element) {
+        final long currentTail = this.tail;
+        int[] elements = this.deque;
+        if (currentTail - this.head.get() >= elements.length - 1) {
+            elements = this.increaseDeque(elements, this.head.get(), currentTail);
+        }
+        elements[(int) currentTail & (elements.length - 1)] = element;
+        this.tail = currentTail + 1;
+    }
+
+    public int popTailElement(final int emptyValue) {
+        final long newTail = this.tail - 1;
+        final int[] elements = this.deque;
+        this.tail = newTail;
+        final long currentHead = this.head.get();
+        if (currentHead > newTail) {
+            this.tail = newTail + 1;
+            return emptyValue;
+        }
+        final int element = elements[(int) newTail & (elements.length - 1)];
+        if (currentHead < newTail) {
+            return element;
+        }
+        final boolean won = this.head.compareAndSet(currentHead, currentHead + 1);
+        this.tail = newTail + 1;
+        return won ? element : emptyValue;
+    }
+
+    public int stealHeadElement(final int emptyValue) {
+        while (true) {
+            final long currentHead = this.head.get();
+            final long currentTail = this.tail;
+            if (currentHead >= currentTail) {
+                return emptyValue;
+            }
+            final int[] elements = this.deque;
+            final int element = elements[(int) currentHead & (elements.length - 1)];
+            if (this.head.compareAndSet(currentHead, currentHead + 1)) {
+                return element;
+            }
+        }
+    }
+
+    private int[] increaseDeque(final int[] elements, final long from, final long to) {
+        int[] newDeque = new int[elements.length * 2];
+        for (long i = from; i < to; i++) {
+            newDeque[(int) i & (newDeque.length - 1)] = elements[(int) i & (elements.length - 1)];
+        }
+        this.deque = newDeque;
+        return newDeque;
+    }
+}
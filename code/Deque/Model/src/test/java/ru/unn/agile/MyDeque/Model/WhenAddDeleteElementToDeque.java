@@ -1,6 +1,12 @@
 package ru.unn.agile.MyDeque.Model;
 import org.junit.Before;
 import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
 import static org.junit.Assert.*;
 
 public class WhenAddDeleteElementToDeque {
@@ -115,4 +121,138 @@ public class WhenAddDeleteElementToDeque {
         assertEquals(1234, result);
     }
 
+    @Test(timeout = 5000)
+    public void pushMillionElementsToHead() {
+        for (int i = 0; i < 1000000; i++) {
+            deque.pushHeadElement(i);
+        }
+        assertEquals(1000000, deque.getCurrentSize());
+        assertEquals(999999, deque.popHeadElement());
+        assertEquals(0, deque.popTailElement());
+    }
+
+    @Test
+    public void wrapAroundKeepsOrder() {
+        for (int i = 0; i < 3; i++) {
+            deque.pushHeadElement(i);
+            deque.pushTailElement(i + 10);
+        }
+        for (int i = 0; i < Deque.START_SIZE; i++) {
+            deque.pushTailElement(deque.popHeadElement());
+        }
+        assertEquals("111221010", deque.toString());
+        assertEquals(6, deque.getCurrentSize());
+    }
+
+    @Test
+    public void capacityGrowsGeometrically() {
+        for (int i = 0; i <= Deque.START_SIZE * 2; i++) {
+            deque.pushHeadElement(i);
+        }
+        assertEquals(Deque.START_SIZE * 4, deque.getCapacity());
+    }
+
+    @Test
+    public void shrinkingDequeReleasesMemory() {
+        Deque shrinkingDeque = new Deque(true);
+        for (int i = 0; i < Deque.START_SIZE * 8; i++) {
+            shrinkingDeque.pushTailElement(i);
+        }
+        for (int i = 0; i < Deque.START_SIZE * 8 - 10; i++) {
+            shrinkingDeque.popHeadElement();
+        }
+        assertEquals(Deque.START_SIZE, shrinkingDeque.getCapacity());
+        assertEquals(Deque.START_SIZE * 8 - 10, shrinkingDeque.popHeadElement());
+    }
+
+    @Test
+    public void notShrinkingDequeKeepsCapacity() {
+        for (int i = 0; i < Deque.START_SIZE * 2; i++) {
+            deque.pushTailElement(i);
+        }
+        deque.clear();
+        assertEquals(Deque.START_SIZE * 2, deque.getCapacity());
+    }
+
+    @Test
+    public void randomOperationsMatchArrayDeque() {
+        Deque shrinkingDeque = new Deque(true);
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 100000; i++) {
+            final int operation = random.nextInt(5);
+            if (operation == 0 && !expected.isEmpty()) {
+                assertEquals(expected.pollFirst().intValue(), shrinkingDeque.popHeadElement());
+            } else if (operation == 1 && !expected.isEmpty()) {
+                assertEquals(expected.pollLast().intValue(), shrinkingDeque.popTailElement());
+            } else if (operation % 2 == 0) {
+                expected.addFirst(i);
+                shrinkingDeque.pushHeadElement(i);
+            } else {
+                expected.addLast(i);
+                shrinkingDeque.pushTailElement(i);
+            }
+        }
+        assertEquals(expected.size(), shrinkingDeque.getCurrentSize());
+    }
+
+    @Test
+    public void iteratorWalksFromHeadToTail() {
+        fillWrapped();
+        PrimitiveIterator.OfInt iterator = deque.iterator();
+        StringBuilder walked = new StringBuilder();
+        while (iterator.hasNext()) {
+            walked.append(iterator.nextInt());
+        }
+        assertEquals(deque.toString(), walked.toString());
+        assertEquals(6, deque.getCurrentSize());
+    }
+
+    @Test
+    public void forEachVisitsEveryElement() {
+        fillWrapped();
+        final int[] sum = new int[1];
+        deque.forEach(element -> sum[0] += element);
+        assertEquals(0 + 1 + 2 + 10 + 11 + 12, sum[0]);
+    }
+
+    @Test
+    public void toArrayCopiesWrappedContents() {
+        fillWrapped();
+        int[] result = deque.toArray(new int[10]);
+        assertArrayEquals(new int[] {2, 1, 0, 10, 11, 12, 0, 0, 0, 0}, result);
+        assertEquals(6, deque.toArray(new int[0]).length);
+    }
+
+    @Test
+    public void pushAllTailAppendsRangeAcrossBorder() {
+        fillWrapped();
+        int[] source = new int[Deque.START_SIZE * 3];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = i;
+        }
+        deque.pushAllTail(source, 1, source.length - 1);
+        int[] result = deque.toArray(new int[0]);
+        assertEquals(6 + source.length - 1, result.length);
+        assertEquals(12, result[5]);
+        assertEquals(1, result[6]);
+        assertEquals(source.length - 1, deque.popTailElement());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void pushAllTailRejectsWrongRange() {
+        deque.pushAllTail(new int[3], 2, 2);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void iteratorOfEmptyDequeHasNoElements() {
+        deque.iterator().nextInt();
+    }
+
+    private void fillWrapped() {
+        for (int i = 0; i < 3; i++) {
+            deque.pushHeadElement(i);
+            deque.pushTailElement(i + 10);
+        }
+    }
 }
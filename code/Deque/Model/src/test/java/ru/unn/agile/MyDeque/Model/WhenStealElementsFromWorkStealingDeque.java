@@ -0,0 +1,110 @@
+package ru.unn.agile.MyDeque.Model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.*;
+
+public class WhenStealElementsFromWorkStealingDeque {
+    private static final int EMPTY = -1;
+    private static final int THIEVES = 4;
+    private static final int ELEMENTS = 1000000;
+    private final AtomicIntegerArray taken = new AtomicIntegerArray(ELEMENTS);
+    private final AtomicBoolean done = new AtomicBoolean();
+    private WorkStealingDeque deque;
+
+    @Before
+    public void setUp() {
+        deque = new WorkStealingDeque();
+    }
+
+    @Test
+    public void newDequeIsEmpty() {
+        assertTrue(deque.isEmpty());
+        assertEquals(EMPTY, deque.popTailElement(EMPTY));
+        assertEquals(EMPTY, deque.stealHeadElement(EMPTY));
+    }
+
+    @Test
+    public void ownerPopsLastPushedElement() {
+        for (int i = 0; i < 5; i++) {
+            deque.pushTailElement(i);
+        }
+        assertEquals(4, deque.popTailElement(EMPTY));
+        assertEquals(4, deque.getCurrentSize());
+    }
+
+    @Test
+    public void thiefStealsFirstPushedElement() {
+        for (int i = 0; i < 5; i++) {
+            deque.pushTailElement(i);
+        }
+        assertEquals(0, deque.stealHeadElement(EMPTY));
+        assertEquals(1, deque.stealHeadElement(EMPTY));
+    }
+
+    @Test
+    public void dequeGrowsWithoutLosingElements() {
+        for (int i = 0; i < WorkStealingDeque.START_SIZE * 10; i++) {
+            deque.pushTailElement(i);
+            if (i % 3 == 0) {
+                deque.stealHeadElement(EMPTY);
+            }
+        }
+        int result = deque.popTailElement(EMPTY);
+        assertEquals(WorkStealingDeque.START_SIZE * 10 - 1, result);
+        assertEquals(WorkStealingDeque.START_SIZE * 10 * 2 / 3 - 1, deque.getCurrentSize());
+    }
+
+    @Test
+    public void everyElementIsTakenExactlyOnce() throws InterruptedException {
+        List<Thread> thieves = startThieves();
+        for (int i = 0; i < ELEMENTS; i++) {
+            deque.pushTailElement(i);
+            if (i % 2 == 0) {
+                markTaken(deque.popTailElement(EMPTY));
+            }
+        }
+        popAll();
+        done.set(true);
+        for (Thread thief : thieves) {
+            thief.join();
+        }
+        for (int i = 0; i < ELEMENTS; i++) {
+            assertEquals(1, taken.get(i));
+        }
+    }
+
+    private void popAll() {
+        int element = deque.popTailElement(EMPTY);
+        while (element != EMPTY) {
+            markTaken(element);
+            element = deque.popTailElement(EMPTY);
+        }
+    }
+
+    private List<Thread> startThieves() {
+        List<Thread> thieves = new ArrayList<>();
+        for (int i = 0; i < THIEVES; i++) {
+            Thread thief = new Thread(() -> {
+                while (!done.get() || !deque.isEmpty()) {
+                    markTaken(deque.stealHeadElement(EMPTY));
+                }
+            });
+            thief.start();
+            thieves.add(thief);
+        }
+        return thieves;
+    }
+
+    private void markTaken(final int element) {
+        if (element != EMPTY) {
+            taken.incrementAndGet(element);
+        }
+    }
+}
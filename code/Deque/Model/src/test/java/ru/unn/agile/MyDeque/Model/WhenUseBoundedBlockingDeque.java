@@ -0,0 +1,122 @@
+package ru.unn.agile.MyDeque.Model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class WhenUseBoundedBlockingDeque {
+    private static final int CAPACITY = 4;
+    private static final int ELEMENTS = 100000;
+    private BoundedBlockingDeque deque;
+
+    @Before
+    public void setUp() {
+        deque = new BoundedBlockingDeque(CAPACITY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateDequeWithZeroCapacity() {
+        new BoundedBlockingDeque(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotDrainNegativeCount() throws InterruptedException {
+        deque.putTail(1);
+        deque.drainTo(new int[CAPACITY], -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotDrainNegativeCountWithTimeout() throws InterruptedException {
+        deque.drainTo(new int[CAPACITY], -1, 10, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void canPutAndTakeFromBothEnds() throws InterruptedException {
+        deque.putTail(1);
+        deque.putTail(2);
+        deque.putHead(0);
+        assertEquals(0, deque.takeHead());
+        assertEquals(2, deque.takeTail());
+        assertEquals(1, deque.getCurrentSize());
+    }
+
+    @Test
+    public void offerTimesOutWhenDequeIsFull() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertTrue(deque.offerTail(i, 0, TimeUnit.MILLISECONDS));
+        }
+        assertFalse(deque.offerTail(CAPACITY, 10, TimeUnit.MILLISECONDS));
+        assertFalse(deque.offerHead(CAPACITY, 10, TimeUnit.MILLISECONDS));
+        assertEquals(CAPACITY, deque.getCurrentSize());
+    }
+
+    @Test
+    public void drainRemovesElementsInHeadOrder() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            deque.putTail(i);
+        }
+        int[] dst = new int[CAPACITY];
+        assertEquals(3, deque.drainTo(dst, 3));
+        assertArrayEquals(new int[] {0, 1, 2, 0}, dst);
+        assertEquals(1, deque.getCurrentSize());
+    }
+
+    @Test
+    public void drainIsLimitedByDestinationLength() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            deque.putHead(i);
+        }
+        int[] dst = new int[2];
+        assertEquals(2, deque.drainTo(dst, CAPACITY));
+        assertArrayEquals(new int[] {3, 2}, dst);
+    }
+
+    @Test
+    public void timedDrainReturnsZeroWhenNothingArrives() throws InterruptedException {
+        assertEquals(0, deque.drainTo(new int[CAPACITY], CAPACITY, 10, TimeUnit.MILLISECONDS));
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test(timeout = 10000)
+    public void blockedProducerResumesAfterTake() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            deque.putTail(i);
+        }
+        Thread producer = startProducer(CAPACITY, 1);
+        assertEquals(0, deque.takeHead());
+        producer.join();
+        assertEquals(CAPACITY, deque.takeTail());
+    }
+
+    @Test(timeout = 30000)
+    public void consumerDrainsEveryProducedElementInOrder() throws InterruptedException {
+        Thread producer = startProducer(0, ELEMENTS);
+        int[] batch = new int[CAPACITY];
+        int expected = 0;
+        while (expected < ELEMENTS) {
+            final int count = deque.drainTo(batch, CAPACITY, 1, TimeUnit.SECONDS);
+            for (int i = 0; i < count; i++) {
+                assertEquals(expected++, batch[i]);
+            }
+        }
+        producer.join();
+        assertTrue(deque.isEmpty());
+    }
+
+    private Thread startProducer(final int first, final int count) {
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = first; i < first + count; i++) {
+                    deque.putTail(i);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        return producer;
+    }
+}
@@ -0,0 +1,101 @@
+package ru.unn.agile.queue.model;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConcurrentQueue<T> {
+
+    private final AtomicReference<Node<T>> head;
+    private final AtomicReference<Node<T>> tail;
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentQueue() {
+        Node<T> dummy = new Node<>(null);
+        head = new AtomicReference<>(dummy);
+        tail = new AtomicReference<>(dummy);
+    }
+
+    public T getHead() {
+        while (true) {
+            Node<T> first = head.get().get();
+            if (first == null) {
+                return null;
+            }
+            T item = first.getItem();
+            if (item != null) {
+                return item;
+            }
+        }
+    }
+
+    public void enqueue(final T lastElement) {
+        if (lastElement == null) {
+            throw new IllegalArgumentException("Queue does not accept null elements");
+        }
+        Node<T> node = new Node<>(lastElement);
+        while (true) {
+            Node<T> last = tail.get();
+            Node<T> next = last.get();
+            if (next == null) {
+                if (last.compareAndSet(null, node)) {
+                    tail.compareAndSet(last, node);
+                    size.increment();
+                    return;
+                }
+            } else {
+                tail.compareAndSet(last, next);
+            }
+        }
+    }
+
+    public T poll() {
+        while (true) {
+            Node<T> dummy = head.get();
+            Node<T> first = dummy.get();
+            if (first == null) {
+                return null;
+            }
+            if (head.compareAndSet(dummy, first)) {
+                size.decrement();
+                return first.takeItem();
+            }
+        }
+    }
+
+    public T dequeue() {
+        T first = poll();
+        if (first == null) {
+            throw new NoSuchElementException();
+        }
+        return first;
+    }
+
+    public boolean isEmpty() {
+        return head.get().get() == null;
+    }
+
+    public int getSize() {
+        return (int) Math.max(0, size.sum());
+    }
+
+    private static final class Node<T> extends AtomicReference<Node<T>> {
+        private static final long serialVersionUID = 1L;
+
+        private transient T item;
+
+        Node(final T item) {
+            this.item = item;
+        }
+
+        T getItem() {
+            return item;
+        }
+
+        T takeItem() {
+            T taken = item;
+            item = null;
+            return taken;
+        }
+    }
+}
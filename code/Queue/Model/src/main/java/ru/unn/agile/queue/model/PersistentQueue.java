@@ -0,0 +1,326 @@
+package ru.unn.agile.queue.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+
+public final class PersistentQueue<T> implements Closeable {
+
+    public enum SyncPolicy {
+        EVERY_WRITE,
+        GROUP_COMMIT,
+        ON_CLOSE
+    }
+
+    public static final int DEFAULT_GROUP_SIZE = 64;
+    public static final int DEFAULT_SEGMENT_SIZE = 16777216;
+
+    private static final int MAGIC = 0x57414C31;
+    private static final int FIRST_SEQUENCE_OFFSET = 4;
+    private static final int HEAD_SEQUENCE_OFFSET = 12;
+    private static final int HEADER_SIZE = 20;
+    private static final byte ENQUEUE = 'E';
+    private static final byte ACK = 'A';
+    private static final int ENQUEUE_OVERHEAD = 1 + Integer.BYTES * 2;
+    private static final int ACK_SIZE = 1 + Long.BYTES * 2;
+    private static final String SUFFIX = ".wal";
+    private static final boolean DIRECTORY_SYNC_SUPPORTED =
+            !System.getProperty("os.name").startsWith("Windows");
+
+    private final Path directory;
+    private final QueueSerializer<T> serializer;
+    private final SyncPolicy policy;
+    private final int groupSize;
+    private final int segmentSize;
+    private final Queue<T> elements = new Queue<>();
+    private final List<Segment> segments = new ArrayList<>();
+    private long headSequence;
+    private long tailSequence;
+    private int unsyncedWrites;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    private PersistentQueue(final Path directory, final QueueSerializer<T> serializer,
+                            final SyncPolicy policy, final int groupSize,
+                            final int segmentSize) {
+        this.directory = directory;
+        this.serializer = serializer;
+        this.policy = policy;
+        this.groupSize = groupSize;
+        this.segmentSize = segmentSize;
+    }
+
+    public static <T> PersistentQueue<T> open(final Path directory,
+                                              final QueueSerializer<T> serializer,
+                                              final SyncPolicy policy) throws IOException {
+        return open(directory, serializer, policy, DEFAULT_GROUP_SIZE, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public static <T> PersistentQueue<T> open(final Path directory,
+                                              final QueueSerializer<T> serializer,
+                                              final SyncPolicy policy, final int groupSize,
+                                              final int segmentSize) throws IOException {
+        if (groupSize <= 0 || segmentSize < HEADER_SIZE + ACK_SIZE) {
+            throw new IllegalArgumentException("Wrong group commit or segment size");
+        }
+        Files.createDirectories(directory);
+        PersistentQueue<T> queue =
+                new PersistentQueue<>(directory, serializer, policy, groupSize, segmentSize);
+        boolean recovered = false;
+        try {
+            queue.recover();
+            recovered = true;
+        } finally {
+            if (!recovered && queue.channel != null) {
+                queue.channel.close();
+            }
+        }
+        return queue;
+    }
+
+    public T getHead() {
+        return elements.getHead();
+    }
+
+    public boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    public int getSize() {
+        return elements.getSize();
+    }
+
+    public void enqueue(final T lastElement) throws IOException {
+        if (lastElement == null) {
+            throw new IllegalArgumentException("Queue does not accept null elements");
+        }
+        byte[] bytes = serializer.serialize(lastElement);
+        reserve(ENQUEUE_OVERHEAD + bytes.length);
+        buffer.put(ENQUEUE).putInt(bytes.length).putInt(checksum(bytes.length, bytes)).put(bytes);
+        elements.enqueue(lastElement);
+        tailSequence++;
+        afterWrite();
+    }
+
+    public T dequeue() throws IOException {
+        if (elements.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        reserve(ACK_SIZE);
+        T head = elements.dequeue();
+        headSequence++;
+        buffer.put(ACK).putLong(headSequence).putLong(~headSequence);
+        afterWrite();
+        releaseSegments();
+        return head;
+    }
+
+    public void sync() {
+        buffer.force();
+        unsyncedWrites = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        sync();
+        channel.close();
+    }
+
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        if (files.isEmpty()) {
+            createSegment(0);
+            return;
+        }
+        Collections.sort(files);
+        ArrayDeque<T> replayed = new ArrayDeque<>();
+        for (int i = 0; i < files.size(); i++) {
+            if (channel != null) {
+                channel.close();
+            }
+            mapSegment(files.get(i));
+            replaySegment(files.get(i), i > 0 && i == files.size() - 1, replayed);
+        }
+        long dropped = headSequence - segments.get(0).firstSequence;
+        while (dropped > 0 && !replayed.isEmpty()) {
+            replayed.removeFirst();
+            dropped--;
+        }
+        for (T element : replayed) {
+            elements.enqueue(element);
+        }
+    }
+
+    private void replaySegment(final Path file, final boolean rolledOver,
+                               final ArrayDeque<T> replayed) throws IOException {
+        if (buffer.getInt(0) != MAGIC) {
+            if (!rolledOver || !isZeroFilled()) {
+                throw new IOException("File is not a queue segment: " + file);
+            }
+            writeHeader();
+        }
+        final long id = segmentId(file);
+        final long firstSequence = buffer.getLong(FIRST_SEQUENCE_OFFSET);
+        segments.add(new Segment(id, firstSequence, file));
+        headSequence = Math.max(headSequence, buffer.getLong(HEAD_SEQUENCE_OFFSET));
+        tailSequence = firstSequence;
+        buffer.position(HEADER_SIZE);
+        int recordStart = HEADER_SIZE;
+        while (replayRecord(replayed)) {
+            recordStart = buffer.position();
+        }
+        buffer.position(recordStart);
+        if (buffer.hasRemaining() && buffer.get(recordStart) != 0) {
+            while (buffer.hasRemaining()) {
+                buffer.put((byte) 0);
+            }
+            buffer.position(recordStart);
+        }
+    }
+
+    private boolean isZeroFilled() {
+        for (int i = 0; i < buffer.limit(); i++) {
+            if (buffer.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long segmentId(final Path file) throws IOException {
+        final String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new IOException("Wrong queue segment name: " + file, e);
+        }
+    }
+
+    private boolean replayRecord(final ArrayDeque<T> replayed) {
+        if (!buffer.hasRemaining()) {
+            return false;
+        }
+        final byte type = buffer.get();
+        if (type == ENQUEUE && buffer.remaining() >= ENQUEUE_OVERHEAD - 1) {
+            final int length = buffer.getInt();
+            final int crc = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                return false;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            if (checksum(length, bytes) != crc) {
+                return false;
+            }
+            replayed.addLast(serializer.deserialize(bytes));
+            tailSequence++;
+            return true;
+        }
+        if (type == ACK && buffer.remaining() >= ACK_SIZE - 1) {
+            final long head = buffer.getLong();
+            if (buffer.getLong() != ~head) {
+                return false;
+            }
+            headSequence = Math.max(headSequence, head);
+            return true;
+        }
+        return false;
+    }
+
+    private void reserve(final int recordSize) throws IOException {
+        if (recordSize > segmentSize - HEADER_SIZE) {
+            throw new IllegalArgumentException("Element is too large for a queue segment");
+        }
+        if (buffer.remaining() < recordSize) {
+            sync();
+            channel.close();
+            createSegment(segments.get(segments.size() - 1).id + 1);
+        }
+    }
+
+    private void afterWrite() {
+        unsyncedWrites++;
+        if (policy == SyncPolicy.EVERY_WRITE
+                || policy == SyncPolicy.GROUP_COMMIT && unsyncedWrites >= groupSize) {
+            sync();
+        }
+    }
+
+    private void releaseSegments() throws IOException {
+        if (segments.size() > 1 && segments.get(1).firstSequence <= headSequence) {
+            sync();
+            while (segments.size() > 1 && segments.get(1).firstSequence <= headSequence) {
+                Files.deleteIfExists(segments.remove(0).path);
+            }
+        }
+    }
+
+    private void createSegment(final long id) throws IOException {
+        Path file = directory.resolve(String.format("%019d%s", id, SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        writeHeader();
+        syncDirectory();
+        segments.add(new Segment(id, tailSequence, file));
+    }
+
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC).putLong(FIRST_SEQUENCE_OFFSET, tailSequence)
+                .putLong(HEAD_SEQUENCE_OFFSET, headSequence);
+        buffer.position(HEADER_SIZE);
+        buffer.force();
+    }
+
+    private void syncDirectory() throws IOException {
+        if (DIRECTORY_SYNC_SUPPORTED) {
+            try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+                dir.force(true);
+            }
+        }
+    }
+
+    private void mapSegment(final Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final long size = Math.max(segmentSize, channel.size());
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private static int checksum(final int length, final byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(ENQUEUE);
+        for (int i = Integer.BYTES - 1; i >= 0; i--) {
+            crc.update(length >>> (i * Byte.SIZE));
+        }
+        crc.update(bytes, 0, bytes.length);
+        return (int) crc.getValue();
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final long firstSequence;
+        private final Path path;
+
+        Segment(final long id, final long firstSequence, final Path path) {
+            this.id = id;
+            this.firstSequence = firstSequence;
+            this.path = path;
+        }
+    }
+}
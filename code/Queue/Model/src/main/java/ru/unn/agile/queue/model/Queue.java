@@ -1,71 +1,261 @@
 package ru.unn.agile.queue.model;
 
+import java.util.ArrayDeque;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 
 public class Queue<T> {
 
-    private final LinkedList<T> list;
+    private static final int MIN_SEGMENT_SIZE = 16;
+    private static final int MAX_SEGMENT_SIZE = 1024;
+
+    private Segment first;
+    private Segment last;
+    private int size;
+    private long headSequence;
+    private final Map<T, ArrayDeque<Long>> index;
 
     public Queue() {
-        list = new LinkedList<>();
+        this(false);
+    }
+
+    public Queue(final boolean indexed) {
+        index = indexed ? new HashMap<>() : null;
     }
 
     public T getHead() {
         if (isEmpty()) {
             return null;
         }
-        return list.get(0);
+        return first.get(first.start);
     }
 
     public void enqueue(final T lastElement) {
-        list.addLast(lastElement);
+        if (last == null || last.isFull()) {
+            appendSegment(new Segment(nextSegmentSize()));
+        }
+        last.items[last.end++] = lastElement;
+        if (index != null) {
+            indexElement(lastElement, headSequence + size);
+        }
+        size++;
     }
 
     public T dequeue() {
-        return list.removeFirst();
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        T head = first.get(first.start);
+        first.items[first.start++] = null;
+        if (first.isEmpty()) {
+            unlinkSegment(null, first);
+        }
+        size--;
+        if (index != null) {
+            ArrayDeque<Long> positions = index.get(head);
+            positions.removeFirst();
+            if (positions.isEmpty()) {
+                index.remove(head);
+            }
+        }
+        headSequence++;
+        return head;
     }
 
     public boolean isEmpty() {
-        return list.isEmpty();
+        return size == 0;
     }
 
     public int getSize() {
-        return list.size();
+        return size;
     }
 
     public boolean remove(final T element) {
-        return list.remove(element);
+        Segment previous = null;
+        for (Segment segment = first; segment != null; segment = segment.next) {
+            for (int i = segment.start; i < segment.end; i++) {
+                if (Objects.equals(segment.items[i], element)) {
+                    removeAt(previous, segment, i);
+                    return true;
+                }
+            }
+            previous = segment;
+        }
+        return false;
     }
 
     public int searchElement(final T target) {
-        for (T element : list) {
-            if (element.equals(target)) {
-                return list.indexOf(element);
-            }
+        final int position = findElement(target);
+        if (position < 0) {
+            throw new NoSuchElementException("Element not found");
         }
-        throw new NoSuchElementException("Element not found");
+        return position;
     }
 
     public void addElements(final Queue<? extends T> newQueue) {
-        while (!newQueue.isEmpty()) {
-            enqueue(newQueue.dequeue());
+        checkNotSelf(newQueue);
+        if (newQueue.isEmpty()) {
+            return;
+        }
+        if (index != null) {
+            indexSegments(newQueue.first, headSequence + size);
+        }
+        appendSegment(newQueue.first);
+        last = newQueue.last;
+        size += newQueue.size;
+        newQueue.first = null;
+        newQueue.last = null;
+        newQueue.headSequence += newQueue.size;
+        newQueue.size = 0;
+        if (newQueue.index != null) {
+            newQueue.index.clear();
         }
     }
 
+    public void copyElements(final Queue<? extends T> sourceQueue) {
+        checkNotSelf(sourceQueue);
+        if (index != null) {
+            indexSegments(sourceQueue.first, headSequence + size);
+        }
+        for (Segment source = sourceQueue.first; source != null; source = source.next) {
+            int copied = source.start;
+            while (copied < source.end) {
+                if (last == null || last.isFull()) {
+                    appendSegment(new Segment(nextSegmentSize()));
+                }
+                final int count = Math.min(source.end - copied, last.items.length - last.end);
+                System.arraycopy(source.items, copied, last.items, last.end, count);
+                last.end += count;
+                copied += count;
+            }
+        }
+        size += sourceQueue.size;
+    }
+
     public LinkedList<T> getQueueAsList() {
+        LinkedList<T> list = new LinkedList<>();
+        for (Segment segment = first; segment != null; segment = segment.next) {
+            for (int i = segment.start; i < segment.end; i++) {
+                list.addLast(segment.get(i));
+            }
+        }
         return list;
     }
 
     public String toString() {
-        if (isEmpty()) {
-            return "[]";
-        }
         StringBuilder str = new StringBuilder();
         str.append("[");
-        for (T element : list) {
-            str.append(element.toString() + ", ");
+        boolean firstElement = true;
+        for (Segment segment = first; segment != null; segment = segment.next) {
+            for (int i = segment.start; i < segment.end; i++) {
+                if (!firstElement) {
+                    str.append(", ");
+                }
+                firstElement = false;
+                str.append(segment.items[i].toString());
+            }
+        }
+        return str.append("]").toString();
+    }
+
+    private int findElement(final T target) {
+        if (index != null) {
+            ArrayDeque<Long> positions = index.get(target);
+            return positions == null ? -1 : (int) (positions.getFirst() - headSequence);
+        }
+        int position = 0;
+        for (Segment segment = first; segment != null; segment = segment.next) {
+            for (int i = segment.start; i < segment.end; i++) {
+                if (Objects.equals(segment.items[i], target)) {
+                    return position;
+                }
+                position++;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(final Segment previous, final Segment segment, final int offset) {
+        System.arraycopy(segment.items, offset + 1, segment.items, offset,
+                segment.end - offset - 1);
+        segment.items[--segment.end] = null;
+        if (segment.isEmpty()) {
+            unlinkSegment(previous, segment);
+        }
+        size--;
+        if (index != null) {
+            index.clear();
+            indexSegments(first, headSequence);
+        }
+    }
+
+    private void indexSegments(final Segment from, final long firstSequence) {
+        long sequence = firstSequence;
+        for (Segment segment = from; segment != null; segment = segment.next) {
+            for (int i = segment.start; i < segment.end; i++) {
+                indexElement(segment.get(i), sequence++);
+            }
+        }
+    }
+
+    private void indexElement(final T element, final long sequence) {
+        index.computeIfAbsent(element, key -> new ArrayDeque<>()).addLast(sequence);
+    }
+
+    private void checkNotSelf(final Queue<? extends T> otherQueue) {
+        if (otherQueue.equals(this)) {
+            throw new IllegalArgumentException("Queue can not be added to itself");
+        }
+    }
+
+    private int nextSegmentSize() {
+        return Math.min(MAX_SEGMENT_SIZE, Math.max(MIN_SEGMENT_SIZE, size));
+    }
+
+    private void appendSegment(final Segment segment) {
+        if (last == null) {
+            first = segment;
+        } else {
+            last.next = segment;
+        }
+        last = segment;
+    }
+
+    private void unlinkSegment(final Segment previous, final Segment segment) {
+        if (previous == null) {
+            first = segment.next;
+        } else {
+            previous.next = segment.next;
+        }
+        if (segment.next == null) {
+            last = previous;
+        }
+    }
+
+    private static final class Segment {
+        private final Object[] items;
+        private int start;
+        private int end;
+        private Segment next;
+
+        Segment(final int capacity) {
+            items = new Object[capacity];
+        }
+
+        boolean isFull() {
+            return end == items.length;
+        }
+
+        boolean isEmpty() {
+            return start == end;
+        }
+
+        @SuppressWarnings("unchecked")
+        <E> E get(final int offset) {
+            return (E) items[offset];
         }
-        return str.append("]").toString().replace(", ]", "]");
     }
 }
@@ -0,0 +1,24 @@
+package ru.unn.agile.queue.model;
+
+import java.nio.charset.StandardCharsets;
+
+public interface QueueSerializer<T> {
+
+    byte[] serialize(T element);
+
+    T deserialize(byte[] bytes);
+
+    static QueueSerializer<String> utf8Strings() {
+        return new QueueSerializer<String>() {
+            @Override
+            public byte[] serialize(final String element) {
+                return element.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String deserialize(final byte[] bytes) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
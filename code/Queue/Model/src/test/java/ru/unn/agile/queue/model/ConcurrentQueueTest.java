@@ -0,0 +1,105 @@
+package ru.unn.agile.queue.model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentQueueTest {
+
+    private static final int THREADS = 4;
+    private static final int ELEMENTS_PER_PRODUCER = 250000;
+    private static final int ELEMENTS = THREADS * ELEMENTS_PER_PRODUCER;
+    private final AtomicIntegerArray taken = new AtomicIntegerArray(ELEMENTS);
+    private final AtomicInteger consumed = new AtomicInteger();
+    private final AtomicBoolean orderBroken = new AtomicBoolean();
+    private ConcurrentQueue<Integer> queue;
+
+    @Before
+    public void beforeTest() {
+        queue = new ConcurrentQueue<>();
+    }
+
+    @Test
+    public void newQueueIsEmpty() {
+        assertTrue(queue.isEmpty());
+        assertNull(queue.getHead());
+        assertNull(queue.poll());
+        assertEquals(0, queue.getSize());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void canNotDequeueFromEmptyQueue() {
+        queue.dequeue();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void canNotEnqueueNull() {
+        queue.enqueue(null);
+    }
+
+    @Test
+    public void queueIsFirstInFirstOut() {
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(i);
+        }
+        assertEquals(Integer.valueOf(0), queue.getHead());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Integer.valueOf(i), queue.dequeue());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test(timeout = 60000)
+    public void producersAndConsumersShareQueue() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int first = t * ELEMENTS_PER_PRODUCER;
+            threads.add(new Thread(() -> produce(first)));
+            threads.add(new Thread(this::consume));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse("Producer order is broken!", orderBroken.get());
+        for (int i = 0; i < ELEMENTS; i++) {
+            assertEquals("Wrong number of takes!", 1, taken.get(i));
+        }
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.getSize());
+    }
+
+    private void produce(final int first) {
+        for (int i = first; i < first + ELEMENTS_PER_PRODUCER; i++) {
+            queue.enqueue(i);
+        }
+    }
+
+    private void consume() {
+        int[] lastSeen = new int[THREADS];
+        Arrays.fill(lastSeen, -1);
+        while (consumed.get() < ELEMENTS) {
+            Integer element = queue.poll();
+            if (element != null) {
+                final int producer = element / ELEMENTS_PER_PRODUCER;
+                if (element < lastSeen[producer]) {
+                    orderBroken.set(true);
+                }
+                lastSeen[producer] = element;
+                taken.incrementAndGet(element);
+                consumed.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package ru.unn.agile.queue.model;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class PersistentQueueTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+    private Path directory;
+
+    @Before
+    public void beforeTest() throws IOException {
+        directory = Files.createTempDirectory("queue");
+    }
+
+    @After
+    public void afterTest() throws IOException {
+        for (Path file : listSegments()) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void canEnqueueAndDequeue() throws IOException {
+        try (PersistentQueue<String> queue = open(PersistentQueue.SyncPolicy.EVERY_WRITE)) {
+            queue.enqueue("First");
+            queue.enqueue("Second");
+            assertEquals("First", queue.getHead());
+            assertEquals("First", queue.dequeue());
+            assertEquals(1, queue.getSize());
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void canNotDequeueFromEmptyQueue() throws IOException {
+        try (PersistentQueue<String> queue = open(PersistentQueue.SyncPolicy.ON_CLOSE)) {
+            queue.dequeue();
+        }
+    }
+
+    @Test
+    public void reopenedQueueKeepsNotDequeuedElements() throws IOException {
+        try (PersistentQueue<String> queue = open(PersistentQueue.SyncPolicy.GROUP_COMMIT)) {
+            queue.enqueue("First");
+            queue.enqueue("Second");
+            queue.enqueue("Third");
+            queue.dequeue();
+        }
+        try (PersistentQueue<String> queue = open(PersistentQueue.SyncPolicy.GROUP_COMMIT)) {
+            assertEquals(2, queue.getSize());
+            assertEquals("Second", queue.dequeue());
+            assertEquals("Third", queue.dequeue());
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void queueRecoversAcrossSegmentsWithEveryPolicy() throws IOException {
+        for (PersistentQueue.SyncPolicy policy : PersistentQueue.SyncPolicy.values()) {
+            try (PersistentQueue<String> queue = open(policy)) {
+                for (int i = 0; i < 2000; i++) {
+                    queue.enqueue("Element " + i);
+                    if (i % 2 == 0) {
+                        queue.dequeue();
+                    }
+                }
+            }
+            try (PersistentQueue<String> queue = open(policy)) {
+                assertEquals("Wrong size for " + policy + "!", 1000, queue.getSize());
+                assertEquals("Element 1000", queue.getHead());
+                while (!queue.isEmpty()) {
+                    queue.dequeue();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void dequeuedSegmentsAreDeleted() throws IOException {
+        try (PersistentQueue<String> queue = open(PersistentQueue.SyncPolicy.ON_CLOSE)) {
+            for (int i = 0; i < 5000; i++) {
+                queue.enqueue("Element " + i);
+                queue.dequeue();
+            }
+        }
+        assertEquals(1, listSegments().size());
+        try (PersistentQueue<String> queue = open(PersistentQueue.SyncPolicy.ON_CLOSE)) {
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void tornRecordIsIgnoredOnRecovery() throws IOException {
+        try (PersistentQueue<String> queue = open(PersistentQueue.SyncPolicy.EVERY_WRITE)) {
+            queue.enqueue("First");
+            queue.enqueue("Second");
+        }
+        corruptLastByte(listSegments().get(0));
+        try (PersistentQueue<String> queue = open(PersistentQueue.SyncPolicy.EVERY_WRITE)) {
+            assertEquals(1, queue.getSize());
+            queue.enqueue("Third");
+        }
+        try (PersistentQueue<String> queue = open(PersistentQueue.SyncPolicy.EVERY_WRITE)) {
+            assertEquals("First", queue.dequeue());
+            assertEquals("Third", queue.dequeue());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void canNotOpenForeignFile() throws IOException {
+        Files.write(directory.resolve("0000000000000000000.wal"), new byte[SEGMENT_SIZE]);
+        open(PersistentQueue.SyncPolicy.EVERY_WRITE).close();
+    }
+
+    @Test(expected = IOException.class)
+    public void canNotOpenSegmentWithWrongName() throws IOException {
+        open(PersistentQueue.SyncPolicy.EVERY_WRITE).close();
+        Files.copy(listSegments().get(0), directory.resolve("segment.wal"));
+        open(PersistentQueue.SyncPolicy.EVERY_WRITE).close();
+    }
+
+    @Test
+    public void tornTypeByteIsIgnoredOnRecovery() throws IOException {
+        try (PersistentQueue<String> queue = open(PersistentQueue.SyncPolicy.EVERY_WRITE)) {
+            queue.enqueue("job-1");
+        }
+        appendByte(listSegments().get(0), (byte) 'E');
+        try (PersistentQueue<String> queue = open(PersistentQueue.SyncPolicy.EVERY_WRITE)) {
+            assertEquals(1, queue.getSize());
+            assertEquals("job-1", queue.getHead());
+        }
+    }
+
+    @Test
+    public void canOpenWhenLaterSegmentHeaderIsLost() throws IOException {
+        try (PersistentQueue<String> queue = open(PersistentQueue.SyncPolicy.EVERY_WRITE)) {
+            queue.enqueue("First");
+        }
+        Files.write(directory.resolve("0000000000000000001.wal"), new byte[SEGMENT_SIZE]);
+        try (PersistentQueue<String> queue = open(PersistentQueue.SyncPolicy.EVERY_WRITE)) {
+            assertEquals(1, queue.getSize());
+            queue.enqueue("Second");
+        }
+        try (PersistentQueue<String> queue = open(PersistentQueue.SyncPolicy.EVERY_WRITE)) {
+            assertEquals("First", queue.dequeue());
+            assertEquals("Second", queue.dequeue());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void canNotOpenWhenLaterSegmentIsForeign() throws IOException {
+        try (PersistentQueue<String> queue = open(PersistentQueue.SyncPolicy.EVERY_WRITE)) {
+            queue.enqueue("First");
+        }
+        byte[] content = new byte[SEGMENT_SIZE];
+        content[SEGMENT_SIZE - 1] = 1;
+        Files.write(directory.resolve("0000000000000000001.wal"), content);
+        open(PersistentQueue.SyncPolicy.EVERY_WRITE).close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void canNotEnqueueElementLargerThanSegment() throws IOException {
+        try (PersistentQueue<String> queue = open(PersistentQueue.SyncPolicy.EVERY_WRITE)) {
+            queue.enqueue(new String(new char[SEGMENT_SIZE]));
+        }
+    }
+
+    private PersistentQueue<String> open(final PersistentQueue.SyncPolicy policy)
+            throws IOException {
+        return PersistentQueue.open(directory, QueueSerializer.utf8Strings(), policy, 16,
+                SEGMENT_SIZE);
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    private void corruptLastByte(final Path file) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        int last = findLastByte(content);
+        writeByte(file, (byte) ~content[last], last);
+    }
+
+    private void appendByte(final Path file, final byte value) throws IOException {
+        writeByte(file, value, findLastByte(Files.readAllBytes(file)) + 1);
+    }
+
+    private static int findLastByte(final byte[] content) {
+        int last = content.length - 1;
+        while (content[last] == 0) {
+            last--;
+        }
+        return last;
+    }
+
+    private static void writeByte(final Path file, final byte value, final int position)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {value}), position);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -116,6 +117,14 @@ public class QueueStringTest {
         assertEquals("[]", new Queue<>().toString());
     }
 
+    @Test
+    public void checkToStringWithEmptyElement() {
+        Queue<String> newQueue = new Queue<>();
+        newQueue.enqueue("");
+        newQueue.enqueue("a");
+        assertEquals("[, a]", newQueue.toString());
+    }
+
     @Test
     public void canAddedNewQueue() {
         Queue<String> newQueue = new Queue<>();
@@ -126,4 +135,170 @@ public class QueueStringTest {
         String expectedNewString = "[First, Second, Third, Fourth, Fifth, Sixth, Seventh]";
         assertEquals(expectedNewString, testQueue.toString());
     }
+
+    @Test(expected = NoSuchElementException.class)
+    public void canNotDequeueFromEmptyQueue() {
+        new Queue<>().dequeue();
+    }
+
+    @Test
+    public void searchFindsFirstOccurrence() {
+        testQueue.enqueue("Second");
+        assertEquals(1, testQueue.searchElement("Second"));
+    }
+
+    @Test
+    public void removeKeepsOrderOfOtherElements() {
+        testQueue.remove("Second");
+        assertEquals("[First, Third, Fourth]", testQueue.toString());
+        assertEquals(2, testQueue.searchElement("Fourth"));
+    }
+
+    @Test
+    public void queueKeepsOrderAfterWrapAround() {
+        for (int i = 0; i < 100; i++) {
+            testQueue.enqueue(testQueue.dequeue());
+        }
+        testQueue.enqueue("Fifth");
+        assertEquals("[First, Second, Third, Fourth, Fifth]", testQueue.toString());
+    }
+
+    @Test
+    public void indexedQueueTracksPositionsAfterDequeue() {
+        Queue<String> indexedQueue = new Queue<>(true);
+        indexedQueue.enqueue("A");
+        indexedQueue.enqueue("B");
+        indexedQueue.enqueue("A");
+        indexedQueue.dequeue();
+        assertEquals(1, indexedQueue.searchElement("A"));
+        assertEquals(0, indexedQueue.searchElement("B"));
+    }
+
+    @Test
+    public void indexedQueueTracksPositionsAfterRemove() {
+        Queue<String> indexedQueue = new Queue<>(true);
+        indexedQueue.addElements(testQueue);
+        assertTrue(indexedQueue.remove("Second"));
+        assertEquals(2, indexedQueue.searchElement("Fourth"));
+        assertFalse(indexedQueue.remove("Second"));
+    }
+
+    @Test(timeout = 10000)
+    public void indexedQueueSearchesMillionElementsFast() {
+        Queue<Integer> indexedQueue = new Queue<>(true);
+        final int count = 1000000;
+        for (int i = 0; i < count; i++) {
+            indexedQueue.enqueue(i);
+        }
+        for (int i = 0; i < count; i += 1000) {
+            assertEquals(i, indexedQueue.searchElement(i));
+        }
+        assertEquals(count, indexedQueue.getSize());
+    }
+
+    @Test
+    public void indexedQueueBehavesLikePlainQueue() {
+        Queue<Integer> plainQueue = new Queue<>();
+        Queue<Integer> indexedQueue = new Queue<>(true);
+        Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            final Integer value = random.nextInt(100);
+            if (random.nextInt(3) == 0 && !plainQueue.isEmpty()) {
+                assertEquals(plainQueue.dequeue(), indexedQueue.dequeue());
+            } else if (random.nextInt(5) == 0) {
+                assertEquals(plainQueue.remove(value), indexedQueue.remove(value));
+            } else {
+                plainQueue.enqueue(value);
+                indexedQueue.enqueue(value);
+            }
+        }
+        assertEquals(plainQueue.getQueueAsList(), indexedQueue.getQueueAsList());
+        assertEquals(plainQueue.searchElement(plainQueue.getHead()),
+                indexedQueue.searchElement(plainQueue.getHead()));
+    }
+
+    @Test
+    public void addElementsEmptiesSourceQueue() {
+        Queue<String> newQueue = new Queue<>();
+        newQueue.enqueue("Fifth");
+        testQueue.addElements(newQueue);
+        assertTrue(newQueue.isEmpty());
+        newQueue.enqueue("Sixth");
+        assertEquals("[Sixth]", newQueue.toString());
+        assertEquals(5, testQueue.getSize());
+    }
+
+    @Test
+    public void queueAcceptsElementsAfterSplice() {
+        Queue<String> newQueue = new Queue<>();
+        newQueue.enqueue("Fifth");
+        testQueue.addElements(newQueue);
+        testQueue.enqueue("Sixth");
+        testQueue.dequeue();
+        assertEquals("[Second, Third, Fourth, Fifth, Sixth]", testQueue.toString());
+        assertEquals(4, testQueue.searchElement("Sixth"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void canNotAddQueueToItself() {
+        testQueue.addElements(testQueue);
+    }
+
+    @Test
+    public void copyElementsKeepsSourceQueue() {
+        Queue<String> newQueue = new Queue<>();
+        newQueue.enqueue("Fifth");
+        newQueue.enqueue("Sixth");
+        testQueue.copyElements(newQueue);
+        assertEquals("[Fifth, Sixth]", newQueue.toString());
+        assertEquals("[First, Second, Third, Fourth, Fifth, Sixth]", testQueue.toString());
+    }
+
+    @Test
+    public void indexedQueueFindsSplicedElements() {
+        Queue<String> indexedQueue = new Queue<>(true);
+        indexedQueue.enqueue("Zero");
+        indexedQueue.addElements(testQueue);
+        indexedQueue.copyElements(copyOf("Last"));
+        assertEquals(3, indexedQueue.searchElement("Third"));
+        assertEquals(5, indexedQueue.searchElement("Last"));
+    }
+
+    @Test(timeout = 10000)
+    public void spliceOfLargeQueuesKeepsAllElements() {
+        Queue<Integer> target = new Queue<>();
+        final int count = 1000000;
+        for (int round = 0; round < 10; round++) {
+            Queue<Integer> source = new Queue<>();
+            for (int i = 0; i < count / 10; i++) {
+                source.enqueue(round * (count / 10) + i);
+            }
+            target.addElements(source);
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(Integer.valueOf(i), target.dequeue());
+        }
+        assertTrue(target.isEmpty());
+    }
+
+    @Test
+    public void removeAfterCopyKeepsOrder() {
+        Queue<Integer> target = new Queue<>();
+        Queue<Integer> source = new Queue<>();
+        for (int i = 0; i < 3000; i++) {
+            source.enqueue(i);
+        }
+        target.copyElements(source);
+        target.copyElements(source);
+        assertTrue(target.remove(2999));
+        assertEquals(2999, target.getQueueAsList().lastIndexOf(0));
+        assertEquals(5999, target.getSize());
+        assertEquals(source.getQueueAsList(), target.getQueueAsList().subList(2999, 5999));
+    }
+
+    private Queue<String> copyOf(final String element) {
+        Queue<String> queue = new Queue<>();
+        queue.enqueue(element);
+        return queue;
+    }
 }
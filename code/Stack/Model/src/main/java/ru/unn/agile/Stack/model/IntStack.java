@@ -0,0 +1,102 @@
+package ru.unn.agile.Stack.model;
+
+import java.util.EmptyStackException;
+
+public class IntStack {
+    public static final int DEFAULT_CAPACITY = 16;
+    private int[] array;
+    private int size;
+
+    public IntStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntStack(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity can't be negative!");
+        }
+        array = new int[initialCapacity];
+    }
+
+    private void ensureCapacity(final int required) {
+        if (required > array.length) {
+            final int[] arrayCopy = new int[Math.max(required, array.length * 2)];
+            System.arraycopy(array, 0, arrayCopy, 0, size);
+            array = arrayCopy;
+        }
+    }
+
+    private void checkSize(final int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count can't be negative!");
+        }
+        if (count > size) {
+            throw new EmptyStackException();
+        }
+    }
+
+    public void push(final int number) {
+        ensureCapacity(size + 1);
+        array[size++] = number;
+    }
+
+    public void pushAll(final int[] numbers) {
+        pushAll(numbers, 0, numbers.length);
+    }
+
+    public void pushAll(final int[] numbers, final int offset, final int count) {
+        if (offset < 0 || count < 0 || offset > numbers.length - count) {
+            throw new IndexOutOfBoundsException("Wrong range of source array!");
+        }
+        ensureCapacity(size + count);
+        System.arraycopy(numbers, offset, array, size, count);
+        size += count;
+    }
+
+    public int pop() {
+        checkSize(1);
+        return array[--size];
+    }
+
+    public void popN(final int count) {
+        checkSize(count);
+        size -= count;
+    }
+
+    public void popN(final int[] destination, final int offset, final int count) {
+        checkSize(count);
+        System.arraycopy(array, size - count, destination, offset, count);
+        size -= count;
+    }
+
+    public int top() {
+        checkSize(1);
+        return array[size - 1];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return array.length;
+    }
+
+    public String print() {
+        final StringBuilder str = new StringBuilder();
+        if (isEmpty()) {
+            str.append("Stack is empty! Nothing to print!");
+        } else if (size == 1) {
+            str.append(array[0]);
+        } else {
+            for (int i = 0; i < size; i++) {
+                str.append(array[i]).append(' ');
+            }
+        }
+        return str.toString();
+    }
+}
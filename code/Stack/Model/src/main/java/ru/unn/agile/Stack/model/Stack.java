@@ -1,57 +1,204 @@
 package ru.unn.agile.Stack.model;
 
-public class Stack {
-    private Integer[] array;
-    private int capacity = 2;
-    private int stackPointer = -1;
-
-    public Stack() {
-        array = new Integer[capacity];
-    }
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
-    private void resize() {
-        capacity *= 2;
-        final Integer[] arrayCopy = new Integer[capacity];
-        System.arraycopy(array, 0, arrayCopy, 0, stackPointer + 1);
-        array = arrayCopy;
-    }
+public class Stack {
+    private static final String EMPTY_STACK = "Stack is empty! Nothing to print!";
+    private static final int WRITER_BUFFER_SIZE = 8192;
+    private static final int RADIX = 10;
+    private static final int CHUNK_SIZE = 64;
+    private Chunk topChunk;
+    private Chunk spareChunk;
+    private int topCount;
+    private int size;
 
     public void push(final Integer number) {
-        if ((stackPointer + 1) >= capacity) {
-            resize();
+        if (topChunk == null || topCount == CHUNK_SIZE) {
+            if (spareChunk != null && spareChunk.previous == topChunk) {
+                topChunk = spareChunk;
+            } else {
+                topChunk = new Chunk(topChunk);
+            }
+            spareChunk = null;
+            topCount = 0;
+        } else if (topChunk.frozen) {
+            topChunk = topChunk.copy(topCount);
         }
-        array[++stackPointer] = number;
+        topChunk.items[topCount++] = number;
+        size++;
     }
 
     public Integer pop() {
         if (isEmpty()) {
             return null;
         }
-        return array[stackPointer--];
+        final Integer number = topChunk.items[--topCount];
+        if (!topChunk.frozen) {
+            topChunk.items[topCount] = null;
+        }
+        size--;
+        if (topCount == 0) {
+            final Chunk previous = topChunk.previous;
+            if (topChunk.frozen) {
+                if (previous != null) {
+                    previous.frozen = true;
+                }
+            } else {
+                spareChunk = topChunk;
+            }
+            topChunk = previous;
+            topCount = previous == null ? 0 : CHUNK_SIZE;
+        }
+        return number;
     }
 
     public boolean isEmpty() {
-        return stackPointer < 0;
+        return size == 0;
+    }
+
+    public int getSize() {
+        return size;
     }
 
     public Integer top() {
         if (isEmpty()) {
             return null;
         }
-        return array[stackPointer];
+        return topChunk.items[topCount - 1];
+    }
+
+    public Snapshot snapshot() {
+        if (topChunk != null) {
+            topChunk.frozen = true;
+        }
+        return new Snapshot(topChunk, topCount, size);
+    }
+
+    public void restore(final Snapshot snapshot) {
+        topChunk = snapshot.topChunk;
+        topCount = snapshot.topCount;
+        size = snapshot.size;
     }
 
     public String print() {
+        return print(topChunk, topCount, size);
+    }
+
+    /**
+     * Walks the chunks from the bottom, so needs one reference per 64 elements.
+     */
+    public void print(final Appendable out) throws IOException {
+        print(out, topChunk, topCount, size);
+    }
+
+    public void print(final OutputStream out) throws IOException {
+        final Writer writer = new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITER_BUFFER_SIZE);
+        print(writer);
+        writer.flush();
+    }
+
+    private static String print(final Chunk topChunk, final int topCount, final int size) {
         final StringBuilder str = new StringBuilder();
-        if (isEmpty()) {
-            str.append("Stack is empty! Nothing to print!");
-        } else if (stackPointer == 0) {
-            str.append(array[stackPointer].toString());
-        } else {
-            for (int i = 0; i <= stackPointer; i++) {
-                str.append(array[i].toString() + " ");
-            }
+        try {
+            print(str, topChunk, topCount, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
         return str.toString();
     }
+
+    private static void print(final Appendable out, final Chunk topChunk, final int topCount,
+                              final int size) throws IOException {
+        if (size == 0) {
+            out.append(EMPTY_STACK);
+            return;
+        }
+        final Chunk[] chain = new Chunk[(size - topCount) / CHUNK_SIZE + 1];
+        Chunk chunk = topChunk;
+        for (int i = chain.length - 1; i >= 0; i--) {
+            chain[i] = chunk;
+            chunk = chunk.previous;
+        }
+        for (int i = 0; i < chain.length; i++) {
+            final int count = i == chain.length - 1 ? topCount : CHUNK_SIZE;
+            for (int j = 0; j < count; j++) {
+                appendNumber(out, chain[i].items[j]);
+                if (size > 1) {
+                    out.append(' ');
+                }
+            }
+        }
+    }
+
+    private static void appendNumber(final Appendable out, final int number) throws IOException {
+        long value = number;
+        if (value < 0) {
+            out.append('-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (divisor * RADIX <= value) {
+            divisor *= RADIX;
+        }
+        for (; divisor > 0; divisor /= RADIX) {
+            out.append((char) ('0' + value / divisor % RADIX));
+        }
+    }
+
+    public static final class Snapshot {
+        private final Chunk topChunk;
+        private final int topCount;
+        private final int size;
+
+        Snapshot(final Chunk topChunk, final int topCount, final int size) {
+            this.topChunk = topChunk;
+            this.topCount = topCount;
+            this.size = size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public Integer top() {
+            if (isEmpty()) {
+                return null;
+            }
+            return topChunk.items[topCount - 1];
+        }
+
+        public String print() {
+            return Stack.print(topChunk, topCount, size);
+        }
+    }
+
+    private static final class Chunk {
+        private final Integer[] items = new Integer[CHUNK_SIZE];
+        private final Chunk previous;
+        private boolean frozen;
+
+        Chunk(final Chunk previous) {
+            this.previous = previous;
+        }
+
+        Chunk copy(final int count) {
+            if (previous != null) {
+                previous.frozen = true;
+            }
+            final Chunk chunk = new Chunk(previous);
+            System.arraycopy(items, 0, chunk.items, 0, count);
+            return chunk;
+        }
+    }
 }
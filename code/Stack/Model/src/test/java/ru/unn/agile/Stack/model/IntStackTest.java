@@ -0,0 +1,101 @@
+package ru.unn.agile.Stack.model;
+
+import org.junit.Test;
+
+import java.util.EmptyStackException;
+
+import static org.junit.Assert.*;
+
+public class IntStackTest {
+    private static final int PUSHES_MAX = 10000000;
+    private final IntStack stk = new IntStack();
+    private final int number = 12345;
+
+    @Test
+    public void testIsNewStackEmpty() {
+        assertTrue(stk.isEmpty());
+        assertEquals(IntStack.DEFAULT_CAPACITY, stk.getCapacity());
+    }
+
+    @Test
+    public void testPushThenTopAndPop() {
+        stk.push(number);
+        assertEquals(number, stk.top());
+        assertEquals(number, stk.pop());
+        assertTrue(stk.isEmpty());
+    }
+
+    @Test(expected = EmptyStackException.class)
+    public void testPopFromEmptyStack() {
+        stk.pop();
+    }
+
+    @Test(expected = EmptyStackException.class)
+    public void testTopInEmptyStack() {
+        stk.top();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCapacity() {
+        new IntStack(-1);
+    }
+
+    @Test
+    public void testZeroCapacityStackGrows() {
+        IntStack small = new IntStack(0);
+        small.push(1);
+        small.push(2);
+        assertEquals(2, small.pop());
+        assertEquals(1, small.pop());
+    }
+
+    @Test
+    public void testPushAllThenPopN() {
+        stk.push(number);
+        stk.pushAll(new int[] {1, 2, 3, 4, 5}, 1, 3);
+        int[] popped = new int[3];
+        stk.popN(popped, 0, 3);
+        assertArrayEquals(new int[] {2, 3, 4}, popped);
+        assertEquals(number, stk.top());
+    }
+
+    @Test
+    public void testPopNDiscardsElements() {
+        stk.pushAll(new int[] {1, 2, 3});
+        stk.popN(2);
+        assertEquals(1, stk.getSize());
+        assertEquals(1, stk.top());
+    }
+
+    @Test(expected = EmptyStackException.class)
+    public void testPopNMoreThanSize() {
+        stk.pushAll(new int[] {1, 2});
+        stk.popN(3);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testPushAllWrongRange() {
+        stk.pushAll(new int[2], 1, 2);
+    }
+
+    @Test
+    public void testPrint() {
+        assertEquals("Stack is empty! Nothing to print!", stk.print());
+        stk.push(number);
+        assertEquals("12345", stk.print());
+        stk.push(Integer.MIN_VALUE);
+        assertEquals("12345 -2147483648 ", stk.print());
+    }
+
+    @Test(timeout = 10000)
+    public void testManyPushesThenPops() {
+        for (int i = 0; i < PUSHES_MAX; i++) {
+            stk.push(i);
+        }
+        long sum = 0;
+        while (!stk.isEmpty()) {
+            sum += stk.pop();
+        }
+        assertEquals((long) PUSHES_MAX * (PUSHES_MAX - 1) / 2, sum);
+    }
+}
@@ -1,6 +1,12 @@
 package ru.unn.agile.Stack.model;
 
 import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.Assert.*;
 
 public class StackTest {
@@ -121,4 +127,149 @@ public class StackTest {
         }
         assertEquals(str.toString(), stk.print());
     }
+
+    @Test
+    public void testPrintToAppendable() throws IOException {
+        stk = new Stack();
+        for (int i = 0; i < PUSHES_MIN; i++) {
+            stk.push(numbers[i]);
+        }
+        StringWriter writer = new StringWriter();
+        stk.print(writer);
+        assertEquals(stk.print(), writer.toString());
+        assertTrue(writer.toString().startsWith("0 -2147483648 2147483647 3 "));
+    }
+
+    @Test
+    public void testPrintEmptyStackToAppendable() throws IOException {
+        stk = new Stack();
+        StringBuilder str = new StringBuilder();
+        stk.print(str);
+        assertEquals("Stack is empty! Nothing to print!", str.toString());
+    }
+
+    @Test(timeout = 10000)
+    public void testPrintDeepStackToStream() throws IOException {
+        stk = new Stack();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < PUSHES_MAX * 1000; i++) {
+            stk.push(numbers[i % PUSHES_MAX]);
+            expected.append(numbers[i % PUSHES_MAX]).append(' ');
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        stk.print(out);
+        assertEquals(expected.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSnapshotIsNotChangedByPushes() {
+        stk = new Stack();
+        stk.push(number);
+        Stack.Snapshot snapshot = stk.snapshot();
+        stk.push(1);
+        stk.push(2);
+        assertEquals(1, snapshot.getSize());
+        assertEquals(number, snapshot.top());
+        assertEquals("12345", snapshot.print());
+    }
+
+    @Test
+    public void testSnapshotIsNotChangedByPopsAndPushes() {
+        stk = new Stack();
+        for (int i = 0; i < PUSHES_MAX; i++) {
+            stk.push(numbers[i]);
+        }
+        Stack.Snapshot snapshot = stk.snapshot();
+        String printed = stk.print();
+        while (!stk.isEmpty()) {
+            stk.pop();
+        }
+        for (int i = 0; i < PUSHES_MAX; i++) {
+            stk.push(number);
+        }
+        assertEquals(printed, snapshot.print());
+        assertEquals(numbers[PUSHES_MAX - 1], snapshot.top());
+    }
+
+    @Test
+    public void testSnapshotIsNotChangedAcrossChunkBoundary() {
+        stk = new Stack();
+        for (int i = 0; i < 74; i++) {
+            stk.push(i);
+        }
+        Stack.Snapshot snapshot = stk.snapshot();
+        String printed = stk.print();
+        stk.push(999);
+        for (int i = 0; i < 12; i++) {
+            stk.pop();
+        }
+        stk.push(-5);
+        assertEquals(printed, snapshot.print());
+        stk.restore(snapshot);
+        assertEquals(printed, stk.print());
+    }
+
+    @Test
+    public void testPushAndPopAcrossChunkBoundary() {
+        stk = new Stack();
+        for (int i = 0; i < 64; i++) {
+            stk.push(i);
+        }
+        stk.push(64);
+        stk.pop();
+        Stack.Snapshot snapshot = stk.snapshot();
+        String printed = stk.print();
+        stk.push(65);
+        stk.pop();
+        stk.pop();
+        stk.push(66);
+        stk.push(67);
+        assertEquals(Integer.valueOf(67), stk.top());
+        assertEquals(printed, snapshot.print());
+        stk.restore(snapshot);
+        stk.push(68);
+        assertEquals(printed + "68 ", stk.print());
+    }
+
+    @Test
+    public void testRestoreRollsBackStack() {
+        stk = new Stack();
+        stk.push(number);
+        Stack.Snapshot snapshot = stk.snapshot();
+        stk.pop();
+        stk.push(1);
+        stk.restore(snapshot);
+        assertEquals(number, stk.pop());
+        assertTrue(stk.isEmpty());
+        assertEquals(number, snapshot.top());
+    }
+
+    @Test
+    public void testSnapshotOfEmptyStack() {
+        stk = new Stack();
+        Stack.Snapshot snapshot = stk.snapshot();
+        stk.push(number);
+        assertTrue(snapshot.isEmpty());
+        assertNull(snapshot.top());
+        assertEquals("Stack is empty! Nothing to print!", snapshot.print());
+    }
+
+    @Test(timeout = 10000)
+    public void testManySnapshotsKeepTheirTops() {
+        stk = new Stack();
+        final int snapshotsCount = 100000;
+        Stack.Snapshot[] snapshots = new Stack.Snapshot[snapshotsCount];
+        for (int i = 0; i < snapshotsCount; i++) {
+            stk.push(i);
+            snapshots[i] = stk.snapshot();
+            if (i % 3 == 0) {
+                stk.pop();
+                stk.push(i);
+            }
+        }
+        for (int i = 0; i < snapshotsCount; i++) {
+            assertEquals(Integer.valueOf(i), snapshots[i].top());
+            assertEquals(i + 1, snapshots[i].getSize());
+        }
+    }
 }
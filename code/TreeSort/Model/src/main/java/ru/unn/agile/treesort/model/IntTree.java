@@ -0,0 +1,147 @@
+package ru.unn.agile.treesort.model;
+
+import java.util.Arrays;
+
+public class IntTree {
+    private static final int NIL = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_HEIGHT = 64;
+    private int[] keys;
+    private int[] leftNodes;
+    private int[] rightNodes;
+    private byte[] heights;
+    private int size;
+    private int rootNode = NIL;
+
+    public IntTree() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntTree(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size can't be negative");
+        }
+        final int capacity = Math.max(1, expectedSize);
+        keys = new int[capacity];
+        leftNodes = new int[capacity];
+        rightNodes = new int[capacity];
+        heights = new byte[capacity];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void insert(final int key) {
+        rootNode = insert(rootNode, key);
+    }
+
+    public void insertAll(final int[] values) {
+        insertAll(values, 0, values.length);
+    }
+
+    public void insertAll(final int[] values, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            insert(values[i]);
+        }
+    }
+
+    public int extractValues(final int[] destination) {
+        return extractValues(destination, 0);
+    }
+
+    public int extractValues(final int[] destination, final int offset) {
+        if (offset < 0 || destination.length - offset < size) {
+            throw new IllegalArgumentException("Destination array is too small");
+        }
+        final int[] stack = new int[MAX_HEIGHT];
+        int stackSize = 0;
+        int count = offset;
+        int node = rootNode;
+        while (node != NIL || stackSize > 0) {
+            while (node != NIL) {
+                stack[stackSize++] = node;
+                node = leftNodes[node];
+            }
+            node = stack[--stackSize];
+            destination[count++] = keys[node];
+            node = rightNodes[node];
+        }
+        return count - offset;
+    }
+
+    private int insert(final int node, final int key) {
+        if (node == NIL) {
+            return newNode(key);
+        }
+        if (key < keys[node]) {
+            final int child = insert(leftNodes[node], key);
+            leftNodes[node] = child;
+        } else {
+            final int child = insert(rightNodes[node], key);
+            rightNodes[node] = child;
+        }
+        return rebalance(node);
+    }
+
+    private int newNode(final int key) {
+        if (size == keys.length) {
+            final int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            leftNodes = Arrays.copyOf(leftNodes, capacity);
+            rightNodes = Arrays.copyOf(rightNodes, capacity);
+            heights = Arrays.copyOf(heights, capacity);
+        }
+        keys[size] = key;
+        leftNodes[size] = NIL;
+        rightNodes[size] = NIL;
+        heights[size] = 1;
+        return size++;
+    }
+
+    private int rebalance(final int node) {
+        updateHeight(node);
+        final int left = leftNodes[node];
+        final int right = rightNodes[node];
+        final int balance = height(left) - height(right);
+        if (balance > 1) {
+            if (height(leftNodes[left]) < height(rightNodes[left])) {
+                leftNodes[node] = rotateLeft(left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(rightNodes[right]) < height(leftNodes[right])) {
+                rightNodes[node] = rotateRight(right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private int rotateRight(final int node) {
+        final int left = leftNodes[node];
+        leftNodes[node] = rightNodes[left];
+        rightNodes[left] = node;
+        updateHeight(node);
+        updateHeight(left);
+        return left;
+    }
+
+    private int rotateLeft(final int node) {
+        final int right = rightNodes[node];
+        rightNodes[node] = leftNodes[right];
+        leftNodes[right] = node;
+        updateHeight(node);
+        updateHeight(right);
+        return right;
+    }
+
+    private void updateHeight(final int node) {
+        heights[node] = (byte) (1 + Math.max(height(leftNodes[node]), height(rightNodes[node])));
+    }
+
+    private int height(final int node) {
+        return node == NIL ? 0 : heights[node];
+    }
+}
@@ -2,27 +2,44 @@ package ru.unn.agile.treesort.model;
 
 import java.util.Collection;
 import java.util.LinkedList;
-import java.util.Stack;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 public class Tree {
     private TreeNode rootNode;
+    private int size;
+    private final boolean balanced;
 
     /**
      * Default constructor. Initializes empty tree without nodes.
      */
     public Tree() {
-        //the are no any initializations here, an empty tree will be created without any nodes.
+        this(false);
     }
 
     public Tree(final Integer key) {
+        this(false);
         rootNode = new TreeNode(key);
+        size = 1;
+    }
+
+    /**
+     * Creates an empty tree that keeps itself AVL-balanced on insert when balanced is true.
+     */
+    public Tree(final boolean balanced) {
+        this.balanced = balanced;
     }
 
     public void insert(final Integer key) {
         if (key == null) {
             throw new IllegalArgumentException("NULL not supported for Tree node value");
         }
-        if (rootNode == null) {
+        if (balanced) {
+            rootNode = insertBalanced(rootNode, key);
+        } else if (rootNode == null) {
             rootNode = new TreeNode(key);
         } else {
             TreeNode prevNode = null;
@@ -39,23 +56,86 @@ public class Tree {
                 prevNode.setRightNode(new TreeNode(key));
             }
         }
+        size++;
+    }
+
+    public int getSize() {
+        return size;
     }
 
     public Collection<Integer> extractValues() {
         final Collection<Integer> extractedValues = new LinkedList<Integer>();
-        Stack<TreeNode> stack = new Stack<TreeNode>();
-        TreeNode top = rootNode;
-        while (top != null || !stack.empty()) {
-            if (!stack.empty()) {
-                top = stack.pop();
-                extractedValues.add(top.getKey());
-                top = top.getRightNode() == null ? null : top.getRightNode();
+        spliterator().forEachRemaining((int key) -> extractedValues.add(key));
+        return extractedValues;
+    }
+
+    public Spliterator.OfInt spliterator() {
+        return new TreeSpliterator(rootNode, size);
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    public IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    private static TreeNode insertBalanced(final TreeNode node, final Integer key) {
+        if (node == null) {
+            return new TreeNode(key);
+        }
+        if (key.compareTo(node.getKey()) < 0) {
+            node.setLeftNode(insertBalanced(node.getLeftNode(), key));
+        } else {
+            node.setRightNode(insertBalanced(node.getRightNode(), key));
+        }
+        return rebalance(node);
+    }
+
+    private static TreeNode rebalance(final TreeNode node) {
+        updateHeight(node);
+        final TreeNode left = node.getLeftNode();
+        final TreeNode right = node.getRightNode();
+        final int balance = height(left) - height(right);
+        if (balance > 1) {
+            if (height(left.getLeftNode()) < height(left.getRightNode())) {
+                node.setLeftNode(rotateLeft(left));
             }
-            while (top != null) {
-                stack.push(top);
-                top = top.getLeftNode();
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(right.getRightNode()) < height(right.getLeftNode())) {
+                node.setRightNode(rotateRight(right));
             }
+            return rotateLeft(node);
         }
-        return extractedValues;
+        return node;
+    }
+
+    private static TreeNode rotateRight(final TreeNode node) {
+        final TreeNode left = node.getLeftNode();
+        node.setLeftNode(left.getRightNode());
+        left.setRightNode(node);
+        updateHeight(node);
+        updateHeight(left);
+        return left;
+    }
+
+    private static TreeNode rotateLeft(final TreeNode node) {
+        final TreeNode right = node.getRightNode();
+        node.setRightNode(right.getLeftNode());
+        right.setLeftNode(node);
+        updateHeight(node);
+        updateHeight(right);
+        return right;
+    }
+
+    private static void updateHeight(final TreeNode node) {
+        node.setHeight(1 + Math.max(height(node.getLeftNode()), height(node.getRightNode())));
+    }
+
+    private static int height(final TreeNode node) {
+        return node == null ? 0 : node.getHeight();
     }
 }
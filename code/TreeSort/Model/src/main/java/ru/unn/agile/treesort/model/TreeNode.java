@@ -4,6 +4,7 @@ public class TreeNode {
     private final Integer key;
     private TreeNode leftTreeNode;
     private TreeNode rightTreeNode;
+    private int height = 1;
 
     public TreeNode(final Integer key) {
         if (null == key) {
@@ -31,4 +32,12 @@ public class TreeNode {
     public void setRightNode(final TreeNode node) {
         rightTreeNode = node;
     }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(final int height) {
+        this.height = height;
+    }
 }
@@ -1,11 +1,119 @@
 package ru.unn.agile.treesort.model;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
 
 public class TreeSort {
+    private static final int PARALLEL_THRESHOLD = 16384;
+    private static final int OVERSAMPLING = 64;
+    private final boolean balanced;
+
+    public TreeSort() {
+        this(true);
+    }
+
+    public TreeSort(final boolean balanced) {
+        this.balanced = balanced;
+    }
+
     public Collection<Integer> sort(final Collection<Integer> inputCollection) {
-        Tree sortingTree = new Tree();
+        Tree sortingTree = new Tree(balanced);
         inputCollection.forEach(sortingTree::insert);
         return sortingTree.extractValues();
     }
+
+    public int[] sort(final int[] input) {
+        IntTree sortingTree = new IntTree(input.length);
+        sortingTree.insertAll(input);
+        final int[] sorted = new int[input.length];
+        sortingTree.extractValues(sorted);
+        return sorted;
+    }
+
+    public Collection<Integer> parallelSort(final Collection<Integer> inputCollection) {
+        final int[] input = new int[inputCollection.size()];
+        int i = 0;
+        for (Integer value : inputCollection) {
+            if (value == null) {
+                throw new IllegalArgumentException("NULL not supported for Tree node value");
+            }
+            input[i++] = value;
+        }
+        final List<Integer> sorted = new ArrayList<Integer>(input.length);
+        for (int value : parallelSort(input, ForkJoinPool.commonPool())) {
+            sorted.add(value);
+        }
+        return sorted;
+    }
+
+    public int[] parallelSort(final int[] input, final ForkJoinPool pool) {
+        final int partitions = pool.getParallelism();
+        if (partitions < 2 || input.length < PARALLEL_THRESHOLD) {
+            return sort(input);
+        }
+        final int[] splitters = sampleSplitters(input, partitions);
+        final int[] buckets = new int[input.length];
+        pool.submit(() -> IntStream.range(0, input.length).parallel()
+                .forEach(i -> buckets[i] = findBucket(splitters, input[i]))).join();
+        final int[] offsets = new int[partitions + 1];
+        for (int bucket : buckets) {
+            offsets[bucket + 1]++;
+        }
+        for (int i = 0; i < partitions; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        final int[] partitioned = new int[input.length];
+        final int[] positions = Arrays.copyOf(offsets, partitions);
+        for (int i = 0; i < input.length; i++) {
+            partitioned[positions[buckets[i]]++] = input[i];
+        }
+        // bucket indexes are not needed anymore, so their array receives the sorted output
+        final int[] sorted = buckets;
+        final List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            final int from = offsets[i];
+            final int to = offsets[i + 1];
+            tasks.add(pool.submit(() -> {
+                IntTree sortingTree = new IntTree(to - from);
+                sortingTree.insertAll(partitioned, from, to);
+                sortingTree.extractValues(sorted, from);
+            }));
+        }
+        tasks.forEach(ForkJoinTask::join);
+        return sorted;
+    }
+
+    private static int[] sampleSplitters(final int[] input, final int partitions) {
+        final Random random = new Random(input.length);
+        final int[] sample = new int[partitions * OVERSAMPLING];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = input[random.nextInt(input.length)];
+        }
+        Arrays.sort(sample);
+        final int[] splitters = new int[partitions - 1];
+        for (int i = 0; i < splitters.length; i++) {
+            splitters[i] = sample[(i + 1) * OVERSAMPLING];
+        }
+        return splitters;
+    }
+
+    private static int findBucket(final int[] splitters, final int value) {
+        int low = 0;
+        int high = splitters.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (splitters[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
 }
@@ -0,0 +1,90 @@
+package ru.unn.agile.treesort.model;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+
+class TreeSpliterator implements Spliterator.OfInt {
+    private static final int CHARACTERISTICS = ORDERED | SORTED | NONNULL;
+    private final ArrayDeque<TreeNode> pendingNodes = new ArrayDeque<TreeNode>();
+    private long estimatedSize;
+    private boolean sized;
+
+    TreeSpliterator(final TreeNode rootNode, final int size) {
+        pushLeftPath(rootNode);
+        estimatedSize = size;
+        sized = true;
+    }
+
+    private TreeSpliterator(final long estimatedSize) {
+        this.estimatedSize = estimatedSize;
+    }
+
+    private void pushLeftPath(final TreeNode node) {
+        for (TreeNode next = node; next != null; next = next.getLeftNode()) {
+            pendingNodes.push(next);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(final IntConsumer action) {
+        if (pendingNodes.isEmpty()) {
+            return false;
+        }
+        final TreeNode node = pendingNodes.pop();
+        pushLeftPath(node.getRightNode());
+        if (estimatedSize > 0) {
+            estimatedSize--;
+        }
+        action.accept(node.getKey());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final IntConsumer action) {
+        while (!pendingNodes.isEmpty()) {
+            final TreeNode node = pendingNodes.pop();
+            pushLeftPath(node.getRightNode());
+            action.accept(node.getKey());
+        }
+        estimatedSize = 0;
+    }
+
+    @Override
+    public Spliterator.OfInt trySplit() {
+        if (pendingNodes.isEmpty()) {
+            return null;
+        }
+        final long prefixSize = estimatedSize / 2;
+        estimatedSize -= prefixSize;
+        sized = false;
+        final TreeNode ancestor = pendingNodes.removeLast();
+        if (pendingNodes.isEmpty()) {
+            pushLeftPath(ancestor.getRightNode());
+            return Spliterators.spliterator(new int[] {ancestor.getKey()}, CHARACTERISTICS);
+        }
+        final TreeSpliterator prefix = new TreeSpliterator(prefixSize);
+        while (!pendingNodes.isEmpty()) {
+            prefix.pendingNodes.addFirst(pendingNodes.removeLast());
+        }
+        pendingNodes.push(ancestor);
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimatedSize;
+    }
+
+    @Override
+    public int characteristics() {
+        return sized ? CHARACTERISTICS | SIZED : CHARACTERISTICS;
+    }
+
+    @Override
+    public Comparator<? super Integer> getComparator() {
+        return null;
+    }
+}
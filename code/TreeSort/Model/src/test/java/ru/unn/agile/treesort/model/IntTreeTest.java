@@ -0,0 +1,58 @@
+package ru.unn.agile.treesort.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IntTreeTest {
+    @Test
+    public void testCreateEmptyTree() {
+        IntTree tree = new IntTree();
+        assertEquals(0, tree.getSize());
+        assertEquals(0, tree.extractValues(new int[0]));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeExpectedSize() {
+        new IntTree(-1);
+    }
+
+    @Test
+    public void testSortingWithDifferentsElement() {
+        IntTree tree = new IntTree(0);
+        tree.insertAll(new int[] {10, 40, 5, 20, 3});
+        int[] extracted = new int[5];
+        assertEquals(5, tree.extractValues(extracted));
+        assertArrayEquals(new int[] {3, 5, 10, 20, 40}, extracted);
+    }
+
+    @Test
+    public void testSortingWithEqualsElement() {
+        IntTree tree = new IntTree();
+        tree.insertAll(new int[] {7, 7, Integer.MIN_VALUE, 7, Integer.MAX_VALUE});
+        int[] extracted = new int[6];
+        assertEquals(5, tree.extractValues(extracted));
+        assertArrayEquals(new int[] {Integer.MIN_VALUE, 7, 7, 7, Integer.MAX_VALUE, 0}, extracted);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExtractToSmallArray() {
+        IntTree tree = new IntTree();
+        tree.insertAll(new int[] {1, 2});
+        tree.extractValues(new int[1]);
+    }
+
+    @Test(timeout = 20000)
+    public void testSortManyRandomValues() {
+        int[] input = new Random(1).ints(2000000).toArray();
+        IntTree tree = new IntTree(input.length);
+        tree.insertAll(input);
+        int[] extracted = new int[input.length];
+        tree.extractValues(extracted);
+        Arrays.sort(input);
+        assertArrayEquals(input, extracted);
+    }
+}
@@ -4,6 +4,8 @@ import org.junit.*;
 import static org.junit.Assert.*;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 public class TreeSortTest {
 
@@ -82,4 +84,101 @@ public class TreeSortTest {
             assertEquals(sortedData[i], outputArray[i]);
         }
     }
+
+    @Test(timeout = 10000)
+    public void testBalancedSortOfSortedCollection() {
+        List<Integer> input = new ArrayList<Integer>();
+        for (int i = 0; i < 1000000; i++) {
+            input.add(i);
+        }
+        assertEquals(input, new ArrayList<Integer>(new TreeSort().sort(input)));
+    }
+
+    @Test(timeout = 10000)
+    public void testBalancedSortOfReversedCollection() {
+        List<Integer> input = new ArrayList<Integer>();
+        for (int i = 1000000; i > 0; i--) {
+            input.add(i);
+        }
+        List<Integer> expected = new ArrayList<Integer>(input);
+        Collections.reverse(expected);
+        assertEquals(expected, new ArrayList<Integer>(new TreeSort().sort(input)));
+    }
+
+    @Test
+    public void testBalancedAndPlainSortsAgree() {
+        Random random = new Random(1);
+        List<Integer> input = new ArrayList<Integer>();
+        for (int i = 0; i < 100000; i++) {
+            input.add(random.nextInt(i % 2 == 0 ? 10 : Integer.MAX_VALUE));
+        }
+        List<Integer> expected = new ArrayList<Integer>(input);
+        Collections.sort(expected);
+        assertEquals(expected, new ArrayList<Integer>(new TreeSort(true).sort(input)));
+        assertEquals(expected, new ArrayList<Integer>(new TreeSort(false).sort(input)));
+    }
+
+    @Test(timeout = 10000)
+    public void testSortPrimitiveSortedArray() {
+        int[] input = new int[1000000];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = input.length - i;
+        }
+        int[] sorted = new TreeSort().sort(input);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(i + 1, sorted[i]);
+        }
+        assertEquals(input.length, input[0]);
+    }
+
+    @Test
+    public void testSortPrimitiveArrayAgreesWithCollectionSort() {
+        int[] input = new Random(2).ints(10000, 0, 100).toArray();
+        List<Integer> boxed = new ArrayList<Integer>();
+        for (int value : input) {
+            boxed.add(value);
+        }
+        Collection<Integer> expected = new TreeSort().sort(boxed);
+        int[] sorted = new TreeSort().sort(input);
+        int i = 0;
+        for (Integer value : expected) {
+            assertEquals(value.intValue(), sorted[i++]);
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testParallelSortAgreesWithArraysSort() {
+        Random random = new Random(3);
+        int[][] inputs = {
+            random.ints(500000).toArray(),
+            random.ints(500000, 0, 16).toArray(),
+            IntStream.range(0, 500000).toArray(),
+            IntStream.range(0, 500000).map(i -> -i).toArray(),
+            new int[100]
+        };
+        for (int threads = 1; threads <= 4; threads++) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            for (int[] input : inputs) {
+                int[] expected = input.clone();
+                Arrays.sort(expected);
+                assertArrayEquals(expected, new TreeSort().parallelSort(input, pool));
+            }
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelSortOfCollection() {
+        List<Integer> input = new ArrayList<Integer>();
+        for (int i = 0; i < 100000; i++) {
+            input.add((i * 7919) % 100003);
+        }
+        Collection<Integer> expected = new TreeSort().sort(input);
+        assertEquals(new ArrayList<Integer>(expected), new TreeSort().parallelSort(input));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParallelSortRejectsNull() {
+        new TreeSort().parallelSort(Arrays.asList(1, null, 2));
+    }
 }
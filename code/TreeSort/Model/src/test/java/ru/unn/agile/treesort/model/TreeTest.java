@@ -4,6 +4,10 @@ import org.junit.Test;
 import static org.junit.Assert.*;
 import static org.junit.Assert.assertEquals;
 import java.util.Collection;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
 
 public class TreeTest {
     @Test
@@ -72,4 +76,76 @@ public class TreeTest {
             assertEquals(cmpVals[i], extrVals[i]);
         }
     }
+
+    @Test
+    public void testBalancedTreeSortsDuplicates() {
+        Tree tree = new Tree(true);
+        final Integer[] vals = {5, 1, 5, 1, 3, 5, 3};
+        final Integer[] cmpVals = {1, 1, 3, 3, 5, 5, 5};
+        for (Integer v : vals) {
+            tree.insert(v);
+        }
+        assertArrayEquals(cmpVals, tree.extractValues().toArray(new Integer[vals.length]));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBalancedTreeRejectsNull() {
+        new Tree(true).insert(null);
+    }
+
+    @Test
+    public void testIteratorWalksInOrder() {
+        Tree tree = new Tree(10);
+        for (Integer v : new Integer[] {40, 5, 20, 3}) {
+            tree.insert(v);
+        }
+        PrimitiveIterator.OfInt iterator = tree.iterator();
+        StringBuilder walked = new StringBuilder();
+        while (iterator.hasNext()) {
+            walked.append(iterator.nextInt()).append(' ');
+        }
+        assertEquals("3 5 10 20 40 ", walked.toString());
+        assertEquals(5, tree.getSize());
+    }
+
+    @Test
+    public void testStreamOfEmptyTree() {
+        assertEquals(0, new Tree().stream().count());
+        assertNull(new Tree().spliterator().trySplit());
+    }
+
+    @Test
+    public void testSpliteratorSplitsIntoOrderedParts() {
+        Tree tree = new Tree(true);
+        for (int i = 0; i < 1000; i++) {
+            tree.insert(i);
+        }
+        Spliterator.OfInt suffix = tree.spliterator();
+        Spliterator.OfInt prefix = suffix.trySplit();
+        final int[] last = {-1};
+        prefix.forEachRemaining((int key) -> last[0] = key);
+        assertTrue(suffix.tryAdvance((int key) -> assertEquals(last[0] + 1, key)));
+        assertTrue(suffix.hasCharacteristics(Spliterator.SORTED));
+    }
+
+    @Test
+    public void testParallelStreamOfDegenerateTree() {
+        Tree tree = new Tree();
+        for (int i = 0; i < 10000; i++) {
+            tree.insert(i);
+        }
+        assertArrayEquals(IntStream.range(0, 10000).toArray(), tree.stream().parallel().toArray());
+    }
+
+    @Test
+    public void testParallelStreamOfRandomTree() {
+        Tree tree = new Tree(true);
+        int[] values = new Random(1).ints(100000, 0, 1000).toArray();
+        for (int v : values) {
+            tree.insert(v);
+        }
+        assertArrayEquals(IntStream.of(values).sorted().toArray(),
+                tree.stream().parallel().toArray());
+        assertEquals(IntStream.of(values).sum(), tree.stream().parallel().sum());
+    }
 }
@@ -0,0 +1,51 @@
+package ru.unn.agile.Huffman;
+
+public final class BitSequence {
+    private final long[] words;
+    private final long length;
+
+    BitSequence(final long[] words, final long length) {
+        this.words = words;
+        this.length = length;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public int getBit(final long index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Bit index out of range: " + index);
+        }
+        return (int) (words[(int) (index >>> BitWriter.ADDRESS_BITS)] >>> ~index) & 1;
+    }
+
+    long[] getWords() {
+        return words;
+    }
+
+    /**
+     * Returns 64 bits starting at position, MSB-first and zero-padded past the end.
+     */
+    long window(final long position) {
+        final int index = (int) (position >>> BitWriter.ADDRESS_BITS);
+        final int offset = (int) position & (Long.SIZE - 1);
+        if (index >= words.length) {
+            return 0;
+        }
+        long window = words[index] << offset;
+        if (offset != 0 && index + 1 < words.length) {
+            window |= words[index + 1] >>> (Long.SIZE - offset);
+        }
+        return window;
+    }
+
+    @Override
+    public String toString() {
+        final char[] bits = new char[(int) length];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = (char) ('0' + getBit(i));
+        }
+        return new String(bits);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.unn.agile.Huffman;
+
+import java.util.Arrays;
+
+final class BitWriter {
+    static final int ADDRESS_BITS = 6;
+    private static final int INITIAL_WORDS = 16;
+    private long[] words = new long[INITIAL_WORDS];
+    private long length;
+
+    void write(final long bits, final int count) {
+        if (count == 0) {
+            return;
+        }
+        final int index = (int) (length >>> ADDRESS_BITS);
+        if (index + 1 >= words.length) {
+            words = Arrays.copyOf(words, Math.max(words.length * 2, index + 2));
+        }
+        final int offset = (int) length & (Long.SIZE - 1);
+        final long aligned = bits << (Long.SIZE - count);
+        words[index] |= aligned >>> offset;
+        if (offset + count > Long.SIZE) {
+            words[index + 1] |= aligned << (Long.SIZE - offset);
+        }
+        length += count;
+    }
+
+    long getLength() {
+        return length;
+    }
+
+    BitSequence toBitSequence() {
+        final int wordCount = (int) ((length + Long.SIZE - 1) >>> ADDRESS_BITS);
+        return new BitSequence(Arrays.copyOf(words, wordCount), length);
+    }
+}
@@ -0,0 +1,292 @@
+package ru.unn.agile.Huffman;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.PriorityQueue;
+
+public final class CanonicalCode {
+    public static final int MAX_CODE_LENGTH = 32;
+    public static final int MAX_ALPHABET_SIZE = 65536;
+    static final int LENGTH_BITS = 6;
+    static final int LENGTH_MASK = (1 << LENGTH_BITS) - 1;
+    private static final int LOOKUP_BITS = 11;
+    private static final int VARINT_MASK = 0x7F;
+    private static final int VARINT_FLAG = 0x80;
+    private static final int VARINT_SHIFT = 7;
+    private static final int BYTE_MASK = 0xFF;
+
+    private final int[] codeLengths;
+    private final long[] codeWords;
+    private final int[] sortedSymbols;
+    private final long[] firstCode = new long[MAX_CODE_LENGTH + 1];
+    private final int[] firstIndex = new int[MAX_CODE_LENGTH + 1];
+    private final int[] lengthCount = new int[MAX_CODE_LENGTH + 1];
+    private final int[] lookup = new int[1 << LOOKUP_BITS];
+
+    private CanonicalCode(final int[] codeLengths) {
+        this.codeLengths = codeLengths.clone();
+        codeWords = new long[codeLengths.length];
+        int symbolCount = 0;
+        for (int length : codeLengths) {
+            if (length < 0 || length > MAX_CODE_LENGTH) {
+                throw new IllegalArgumentException("Wrong code length: " + length);
+            }
+            if (length > 0) {
+                lengthCount[length]++;
+                symbolCount++;
+            }
+        }
+        sortedSymbols = new int[symbolCount];
+        assignCodes();
+        fillLookup();
+    }
+
+    public static CanonicalCode fromCodeLengths(final int[] codeLengths) {
+        return new CanonicalCode(codeLengths);
+    }
+
+    public static CanonicalCode fromFrequencies(final long[] frequencies) {
+        final long[] weights = frequencies.clone();
+        int[] lengths = buildCodeLengths(weights);
+        while (maxOf(lengths) > MAX_CODE_LENGTH) {
+            for (int i = 0; i < weights.length; i++) {
+                if (weights[i] > 0) {
+                    weights[i] = (weights[i] >>> 1) | 1;
+                }
+            }
+            lengths = buildCodeLengths(weights);
+        }
+        return new CanonicalCode(lengths);
+    }
+
+    public static CanonicalCode forText(final CharSequence text) {
+        char maxSymbol = 0;
+        for (int i = 0; i < text.length(); i++) {
+            maxSymbol = (char) Math.max(maxSymbol, text.charAt(i));
+        }
+        final long[] frequencies = new long[maxSymbol + 1];
+        for (int i = 0; i < text.length(); i++) {
+            frequencies[text.charAt(i)]++;
+        }
+        return fromFrequencies(frequencies);
+    }
+
+    public int getAlphabetSize() {
+        return codeLengths.length;
+    }
+
+    public int getCodeLength(final int symbol) {
+        return symbol < codeLengths.length ? codeLengths[symbol] : 0;
+    }
+
+    public long getCodeWord(final int symbol) {
+        return codeWords[symbol];
+    }
+
+    public BitSequence encode(final CharSequence text) {
+        final BitWriter writer = new BitWriter();
+        for (int i = 0; i < text.length(); i++) {
+            final char symbol = text.charAt(i);
+            final int length = getCodeLength(symbol);
+            if (length == 0) {
+                throw new IllegalArgumentException("Symbol is missing in the code: " + symbol);
+            }
+            writer.write(codeWords[symbol], length);
+        }
+        return writer.toBitSequence();
+    }
+
+    public String decode(final BitSequence bits) {
+        final StringBuilder decoded = new StringBuilder();
+        long position = 0;
+        while (position < bits.getLength()) {
+            final int entry = decodeSymbol(bits.window(position));
+            position += entry & LENGTH_MASK;
+            if (position > bits.getLength()) {
+                throw new IllegalArgumentException("Incorrect binary sequence for current code!");
+            }
+            decoded.append((char) (entry >>> LENGTH_BITS));
+        }
+        return decoded.toString();
+    }
+
+    /**
+     * Decodes the symbol whose code starts at the highest bit of window.
+     * Returns the symbol shifted left by LENGTH_BITS together with the code length.
+     */
+    int decodeSymbol(final long window) {
+        final int entry = lookup[(int) (window >>> (Long.SIZE - LOOKUP_BITS))];
+        if (entry != 0) {
+            return entry;
+        }
+        for (int length = LOOKUP_BITS + 1; length <= MAX_CODE_LENGTH; length++) {
+            final long offset = (window >>> (Long.SIZE - length)) - firstCode[length];
+            if (offset >= 0 && offset < lengthCount[length]) {
+                return sortedSymbols[firstIndex[length] + (int) offset] << LENGTH_BITS | length;
+            }
+        }
+        throw new IllegalArgumentException("Incorrect binary sequence for current code!");
+    }
+
+    public void writeCodeLengths(final OutputStream out) throws IOException {
+        writeVarInt(out, codeLengths.length);
+        int symbol = 0;
+        while (symbol < codeLengths.length) {
+            out.write(codeLengths[symbol]);
+            if (codeLengths[symbol] == 0) {
+                int run = 1;
+                while (symbol + run < codeLengths.length && codeLengths[symbol + run] == 0) {
+                    run++;
+                }
+                writeVarInt(out, run);
+                symbol += run;
+            } else {
+                symbol++;
+            }
+        }
+    }
+
+    public static CanonicalCode readCodeLengths(final InputStream in) throws IOException {
+        return readCodeLengths(in, MAX_ALPHABET_SIZE);
+    }
+
+    public static CanonicalCode readCodeLengths(final InputStream in, final int maxAlphabetSize)
+            throws IOException {
+        final int alphabetSize = readVarInt(in);
+        if (alphabetSize < 0 || alphabetSize > maxAlphabetSize) {
+            throw new IOException("Corrupted code lengths");
+        }
+        final int[] lengths = new int[alphabetSize];
+        int symbol = 0;
+        while (symbol < lengths.length) {
+            final int length = readByte(in);
+            if (length == 0) {
+                final int run = readVarInt(in);
+                if (run <= 0 || run > lengths.length - symbol) {
+                    throw new IOException("Corrupted code lengths");
+                }
+                symbol += run;
+            } else {
+                lengths[symbol++] = length;
+            }
+        }
+        try {
+            return new CanonicalCode(lengths);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupted code lengths", e);
+        }
+    }
+
+    private void assignCodes() {
+        long code = 0;
+        int index = 0;
+        for (int length = 1; length <= MAX_CODE_LENGTH; length++) {
+            code = (code + lengthCount[length - 1]) << 1;
+            firstCode[length] = code;
+            firstIndex[length] = index;
+            index += lengthCount[length];
+        }
+        if (code + lengthCount[MAX_CODE_LENGTH] > 1L << MAX_CODE_LENGTH) {
+            throw new IllegalArgumentException("Code lengths are oversubscribed");
+        }
+        final int[] nextIndex = firstIndex.clone();
+        for (int symbol = 0; symbol < codeLengths.length; symbol++) {
+            final int length = codeLengths[symbol];
+            if (length > 0) {
+                final int position = nextIndex[length]++;
+                sortedSymbols[position] = symbol;
+                codeWords[symbol] = firstCode[length] + position - firstIndex[length];
+            }
+        }
+    }
+
+    private void fillLookup() {
+        for (int symbol = 0; symbol < codeLengths.length; symbol++) {
+            final int length = codeLengths[symbol];
+            if (length > 0 && length <= LOOKUP_BITS) {
+                final int first = (int) (codeWords[symbol] << (LOOKUP_BITS - length));
+                final int count = 1 << (LOOKUP_BITS - length);
+                for (int i = 0; i < count; i++) {
+                    lookup[first + i] = symbol << LENGTH_BITS | length;
+                }
+            }
+        }
+    }
+
+    private static int[] buildCodeLengths(final long[] weights) {
+        final int[] lengths = new int[weights.length];
+        final int[] parents = new int[weights.length * 2];
+        final long[] nodeWeights = new long[weights.length * 2];
+        final PriorityQueue<Integer> queue = new PriorityQueue<Integer>(Math.max(1, weights.length),
+                (a, b) -> nodeWeights[a] == nodeWeights[b]
+                        ? Integer.compare(a, b) : Long.compare(nodeWeights[a], nodeWeights[b]));
+        for (int symbol = 0; symbol < weights.length; symbol++) {
+            nodeWeights[symbol] = weights[symbol];
+            if (weights[symbol] > 0) {
+                queue.add(symbol);
+            }
+        }
+        if (queue.size() == 1) {
+            lengths[queue.poll()] = 1;
+            return lengths;
+        }
+        int nextNode = weights.length;
+        while (queue.size() > 1) {
+            final int left = queue.poll();
+            final int right = queue.poll();
+            nodeWeights[nextNode] = nodeWeights[left] + nodeWeights[right];
+            parents[left] = nextNode;
+            parents[right] = nextNode;
+            queue.add(nextNode++);
+        }
+        final int[] depths = new int[nextNode];
+        for (int node = nextNode - 2; node >= 0; node--) {
+            if (node >= weights.length || weights[node] > 0) {
+                depths[node] = depths[parents[node]] + 1;
+            }
+        }
+        for (int symbol = 0; symbol < weights.length; symbol++) {
+            lengths[symbol] = weights[symbol] > 0 ? depths[symbol] : 0;
+        }
+        return lengths;
+    }
+
+    private static int maxOf(final int[] values) {
+        int max = 0;
+        for (int value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    private static void writeVarInt(final OutputStream out, final int value) throws IOException {
+        int rest = value;
+        while ((rest & ~VARINT_MASK) != 0) {
+            out.write((rest & VARINT_MASK) | VARINT_FLAG);
+            rest >>>= VARINT_SHIFT;
+        }
+        out.write(rest);
+    }
+
+    private static int readVarInt(final InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += VARINT_SHIFT) {
+            final int next = readByte(in);
+            value |= (next & VARINT_MASK) << shift;
+            if ((next & VARINT_FLAG) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupted code lengths");
+    }
+
+    private static int readByte(final InputStream in) throws IOException {
+        final int value = in.read();
+        if (value < 0) {
+            throw new EOFException("Unexpected end of code lengths");
+        }
+        return value & BYTE_MASK;
+    }
+}
@@ -4,11 +4,15 @@ import java.util.PriorityQueue;
 
 public class HuffmanAlg {
     private HTree hTree = null;
+    private long[] codeWords;
+    private int[] codeLengths;
+    private int[] frequencies;
     private static final int ASCII_SIZE = 256;
 
-    private void buildTree(final String stringForBuilding) {
+    void buildTree(final String stringForBuilding) {
         PriorityQueue<HTree> nodesMaker = new PriorityQueue<HTree>();
         int[] frequenciesOfSymbols = countingFrequencies(stringForBuilding.toCharArray());
+        frequencies = frequenciesOfSymbols;
 
         for (int i = 0; i < frequenciesOfSymbols.length; ++i) {
             if (frequenciesOfSymbols[i] != 0) {
@@ -21,11 +25,49 @@ public class HuffmanAlg {
             nodesMaker.offer(new HNode(l, r));
         }
         hTree = nodesMaker.poll();
+        buildCodeTable(frequenciesOfSymbols.length);
+    }
+
+    private void buildCodeTable(final int alphabetSize) {
+        codeWords = new long[alphabetSize];
+        codeLengths = new int[alphabetSize];
+        if (hTree instanceof HLeaf) {
+            final char symbol = hTree.getSymbolsInTree().charAt(0);
+            codeWords[symbol] = 1;
+            codeLengths[symbol] = 1;
+        } else {
+            fillCodeTable(hTree, 0, 0);
+        }
+    }
+
+    private void fillCodeTable(final HTree node, final long codeWord, final int codeLength) {
+        if (node instanceof HNode) {
+            fillCodeTable(((HNode) node).getLeftTree(), codeWord << 1, codeLength + 1);
+            fillCodeTable(((HNode) node).getRightTree(), (codeWord << 1) | 1, codeLength + 1);
+        } else {
+            final char symbol = node.getSymbolsInTree().charAt(0);
+            codeWords[symbol] = codeWord;
+            codeLengths[symbol] = codeLength;
+        }
+    }
+
+    private int codeLengthOf(final char symbol) {
+        final int codeLength = symbol < codeLengths.length ? codeLengths[symbol] : 0;
+        if (codeLength == 0) {
+            throw new IllegalArgumentException("Any characters "
+                    + "in input string"
+                    + " hasn't been used for HTree building!");
+        }
+        return codeLength;
     }
 
 
     private int[] countingFrequencies(final char[] charArray) {
-        int[] frequenciesOfSymbols = new int[ASCII_SIZE];
+        char maxSymbol = 0;
+        for (char c : charArray) {
+            maxSymbol = (char) Math.max(maxSymbol, c);
+        }
+        int[] frequenciesOfSymbols = new int[Math.max(ASCII_SIZE, maxSymbol + 1)];
         for (char c : charArray) {
             frequenciesOfSymbols[c]++;
         }
@@ -48,31 +90,47 @@ public class HuffmanAlg {
     public String encodeStringByCurrentHTree(final String stringForEncoding) {
         nullInputCheck(stringForEncoding);
         builtHTreeCheck();
-        String codedString = "";
-        char currentCharacterInInputString;
-
+        int codedLength = 0;
         for (int i = 0; i < stringForEncoding.length(); ++i) {
-            currentCharacterInInputString = stringForEncoding.charAt(i);
-            HTree currentNode = hTree;
-            if (!currentNode.contains(currentCharacterInInputString)) {
-                throw new IllegalArgumentException("Any characters "
-                        + "in input string"
-                        + " hasn't been used for HTree building!");
-            }
-            if (hTree instanceof HLeaf) {
-                codedString += '1';
-            }
-            while (currentNode instanceof HNode) {
-                if (((HNode) currentNode).leftTreeContains(currentCharacterInInputString)) {
-                    currentNode = ((HNode) currentNode).getLeftTree();
-                    codedString += '0';
-                } else {
-                    currentNode = ((HNode) currentNode).getRightTree();
-                    codedString += '1';
-                }
+            codedLength += codeLengthOf(stringForEncoding.charAt(i));
+        }
+        final char[] codedString = new char[codedLength];
+        int position = 0;
+        for (int i = 0; i < stringForEncoding.length(); ++i) {
+            final char symbol = stringForEncoding.charAt(i);
+            for (int bit = codeLengths[symbol] - 1; bit >= 0; --bit) {
+                codedString[position++] = (char) ('0' + ((codeWords[symbol] >>> bit) & 1));
             }
         }
-        return codedString;
+        return new String(codedString);
+    }
+
+    public BitSequence encodeToBitsByCurrentHTree(final String stringForEncoding) {
+        nullInputCheck(stringForEncoding);
+        builtHTreeCheck();
+        final BitWriter writer = new BitWriter();
+        for (int i = 0; i < stringForEncoding.length(); ++i) {
+            final char symbol = stringForEncoding.charAt(i);
+            final int codeLength = codeLengthOf(symbol);
+            writer.write(codeWords[symbol], codeLength);
+        }
+        return writer.toBitSequence();
+    }
+
+    public CanonicalCode canonicalCodeOfCurrentHTree() {
+        builtHTreeCheck();
+        int maxCodeLength = 0;
+        for (int codeLength : codeLengths) {
+            maxCodeLength = Math.max(maxCodeLength, codeLength);
+        }
+        if (maxCodeLength <= CanonicalCode.MAX_CODE_LENGTH) {
+            return CanonicalCode.fromCodeLengths(codeLengths);
+        }
+        final long[] weights = new long[frequencies.length];
+        for (int i = 0; i < frequencies.length; ++i) {
+            weights[i] = frequencies[i];
+        }
+        return CanonicalCode.fromFrequencies(weights);
     }
 
     public String encodeString(final String stringForEncoding) {
@@ -0,0 +1,138 @@
+package ru.unn.agile.Huffman;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+public final class HuffmanCompressor {
+    static final int MAGIC = 0x48554631;
+    static final int BYTE_ALPHABET_SIZE = 256;
+    private static final int BUFFER_SIZE = 65536;
+    private static final int BYTE_MASK = 0xFF;
+
+    private HuffmanCompressor() {
+    }
+
+    public static long compress(final Path source, final OutputStream target) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            return compress(channel, target);
+        }
+    }
+
+    /**
+     * Reads the channel twice: once to count byte frequencies, once to encode.
+     * Returns the number of source bytes.
+     */
+    public static long compress(final FileChannel source, final OutputStream target)
+            throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        final long[] frequencies = new long[BYTE_ALPHABET_SIZE];
+        long length = 0;
+        for (int read = source.read(buffer, length); read > 0; read = source.read(buffer, length)) {
+            countFrequencies(buffer.array(), 0, read, frequencies);
+            length += read;
+            buffer.clear();
+        }
+        final CanonicalCode code = CanonicalCode.fromFrequencies(frequencies);
+        writeHeader(target, length, code);
+        final StreamBitWriter writer = new StreamBitWriter(target);
+        long position = 0;
+        while (position < length) {
+            final int read = source.read(buffer, position);
+            if (read <= 0) {
+                throw new IOException("Source was truncated while compressing");
+            }
+            final int count = (int) Math.min(read, length - position);
+            encode(buffer.array(), 0, count, code, writer);
+            position += count;
+            buffer.clear();
+        }
+        writer.finish();
+        target.flush();
+        return length;
+    }
+
+    /**
+     * Accepts both the single-stream and the block format; blocks are decoded on the common pool.
+     * Returns the number of decompressed bytes written to target.
+     */
+    public static long decompress(final InputStream source, final OutputStream target)
+            throws IOException {
+        return ParallelHuffmanCompressor.decompress(source, target, ForkJoinPool.commonPool());
+    }
+
+    static long decompressStream(final DataInputStream in, final OutputStream target)
+            throws IOException {
+        final long length = readLength(in);
+        final CanonicalCode code = readByteCode(in);
+        decode(new StreamBitReader(in), code, length, target);
+        target.flush();
+        return length;
+    }
+
+    static void countFrequencies(final byte[] data, final int from, final int to,
+                                 final long[] frequencies) {
+        for (int i = from; i < to; i++) {
+            frequencies[data[i] & BYTE_MASK]++;
+        }
+    }
+
+    static void encode(final byte[] data, final int from, final int to,
+                       final CanonicalCode code, final StreamBitWriter writer) throws IOException {
+        for (int i = from; i < to; i++) {
+            final int symbol = data[i] & BYTE_MASK;
+            final int length = code.getCodeLength(symbol);
+            if (length == 0) {
+                throw new IOException("Source was modified while compressing");
+            }
+            writer.write(code.getCodeWord(symbol), length);
+        }
+    }
+
+    static void decode(final StreamBitReader reader, final CanonicalCode code, final long length,
+                       final OutputStream target) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int position = 0;
+        try {
+            for (long i = 0; i < length; i++) {
+                final int entry = code.decodeSymbol(reader.peek());
+                reader.skip(entry & CanonicalCode.LENGTH_MASK);
+                if (position == buffer.length) {
+                    target.write(buffer, 0, position);
+                    position = 0;
+                }
+                buffer[position++] = (byte) (entry >>> CanonicalCode.LENGTH_BITS);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupted compressed data", e);
+        }
+        target.write(buffer, 0, position);
+    }
+
+    static void writeHeader(final OutputStream target, final long length,
+                            final CanonicalCode code) throws IOException {
+        final DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(MAGIC);
+        out.writeLong(length);
+        code.writeCodeLengths(out);
+    }
+
+    static long readLength(final DataInputStream in) throws IOException {
+        final long length = in.readLong();
+        if (length < 0) {
+            throw new IOException("Corrupted compressed stream length");
+        }
+        return length;
+    }
+
+    static CanonicalCode readByteCode(final InputStream in) throws IOException {
+        return CanonicalCode.readCodeLengths(in, BYTE_ALPHABET_SIZE);
+    }
+}
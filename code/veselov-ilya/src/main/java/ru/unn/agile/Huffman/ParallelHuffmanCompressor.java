@@ -0,0 +1,212 @@
+package ru.unn.agile.Huffman;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+public final class ParallelHuffmanCompressor {
+    static final int BLOCK_MAGIC = 0x48554632;
+    public static final int DEFAULT_BLOCK_SIZE = 1048576;
+    public static final int MAX_BLOCK_SIZE = 67108864;
+    private static final int BLOCKS_PER_THREAD = 2;
+
+    private ParallelHuffmanCompressor() {
+    }
+
+    public static long compress(final Path source, final OutputStream target,
+                                final ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            return compress(channel, target, pool, DEFAULT_BLOCK_SIZE);
+        }
+    }
+
+    /**
+     * Splits the channel into blocks that share one code table. Frequencies are counted
+     * and blocks are encoded on the pool; every block is prefixed by its compressed size,
+     * so a reader can find block boundaries without decoding.
+     */
+    public static long compress(final FileChannel source, final OutputStream target,
+                                final ForkJoinPool pool, final int blockSize) throws IOException {
+        if (blockSize <= 0 || blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("Block size must be in 1.." + MAX_BLOCK_SIZE);
+        }
+        final long length = source.size();
+        final int blockCount = blockCount(length, blockSize);
+        final long[] frequencies = new long[HuffmanCompressor.BYTE_ALPHABET_SIZE];
+        forEachBlock(pool, blockCount, (int block) -> () -> {
+            final long[] counts = new long[HuffmanCompressor.BYTE_ALPHABET_SIZE];
+            final byte[] data = readBlock(source, length, blockSize, block);
+            HuffmanCompressor.countFrequencies(data, 0, data.length, counts);
+            return counts;
+        }, counts -> {
+            for (int i = 0; i < counts.length; i++) {
+                frequencies[i] += counts[i];
+            }
+        });
+        final CanonicalCode code = CanonicalCode.fromFrequencies(frequencies);
+        final DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(BLOCK_MAGIC);
+        out.writeLong(length);
+        out.writeInt(blockSize);
+        code.writeCodeLengths(out);
+        forEachBlock(pool, blockCount,
+            (int block) -> () -> encodeBlock(readBlock(source, length, blockSize, block), code),
+            compressed -> {
+                out.writeInt(compressed.length);
+                out.write(compressed);
+            });
+        out.flush();
+        return length;
+    }
+
+    /**
+     * Accepts both the single-stream and the block format.
+     * Returns the number of decompressed bytes written to target.
+     */
+    public static long decompress(final InputStream source, final OutputStream target,
+                                  final ForkJoinPool pool) throws IOException {
+        final DataInputStream in = new DataInputStream(source);
+        final int magic = in.readInt();
+        if (magic == BLOCK_MAGIC) {
+            return decompressBlocks(in, target, pool);
+        }
+        if (magic != HuffmanCompressor.MAGIC) {
+            throw new IOException("Not a Huffman compressed stream");
+        }
+        return HuffmanCompressor.decompressStream(in, target);
+    }
+
+    static long decompressBlocks(final DataInputStream in, final OutputStream target,
+                                 final ForkJoinPool pool) throws IOException {
+        final long length = HuffmanCompressor.readLength(in);
+        final int blockSize = in.readInt();
+        if (blockSize <= 0 || blockSize > MAX_BLOCK_SIZE) {
+            throw new IOException("Corrupted block size");
+        }
+        final int blockCount = blockCount(length, blockSize);
+        final CanonicalCode code = HuffmanCompressor.readByteCode(in);
+        final long maxCompressedSize =
+                (long) blockSize * CanonicalCode.MAX_CODE_LENGTH / Byte.SIZE + 1;
+        forEachBlock(pool, blockCount, (int block) -> {
+            final int compressedSize = in.readInt();
+            if (compressedSize < 0 || compressedSize > maxCompressedSize) {
+                throw new IOException("Corrupted block index");
+            }
+            final byte[] compressed = new byte[compressedSize];
+            in.readFully(compressed);
+            final int size = blockLength(length, blockSize, block);
+            return () -> decodeBlock(compressed, code, size);
+        }, data -> target.write(data));
+        target.flush();
+        return length;
+    }
+
+    private static byte[] encodeBlock(final byte[] data, final CanonicalCode code)
+            throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+        final StreamBitWriter writer = new StreamBitWriter(out);
+        HuffmanCompressor.encode(data, 0, data.length, code, writer);
+        writer.finish();
+        return out.toByteArray();
+    }
+
+    private static byte[] decodeBlock(final byte[] compressed, final CanonicalCode code,
+                                      final int size) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        HuffmanCompressor.decode(new StreamBitReader(new ByteArrayInputStream(compressed)),
+                code, size, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] readBlock(final FileChannel source, final long length,
+                                    final int blockSize, final int block) throws IOException {
+        final long offset = (long) block * blockSize;
+        final ByteBuffer buffer = ByteBuffer.allocate(blockLength(length, blockSize, block));
+        while (buffer.hasRemaining()) {
+            if (source.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("Source was truncated while compressing");
+            }
+        }
+        return buffer.array();
+    }
+
+    private static int blockCount(final long length, final int blockSize) throws IOException {
+        final long count = (length + blockSize - 1) / blockSize;
+        if (count > Integer.MAX_VALUE) {
+            throw new IOException("Too many blocks for block size " + blockSize);
+        }
+        return (int) count;
+    }
+
+    private static int blockLength(final long length, final int blockSize, final int block) {
+        return (int) Math.min(blockSize, length - (long) block * blockSize);
+    }
+
+    /**
+     * Runs the task of every block on the pool, keeping a bounded number of blocks in flight,
+     * and hands the results to the sink in block order.
+     */
+    private static <T> void forEachBlock(final ForkJoinPool pool, final int blockCount,
+                                         final BlockTasks<T> tasks, final BlockSink<T> sink)
+            throws IOException {
+        final int window = pool.getParallelism() * BLOCKS_PER_THREAD;
+        final ArrayDeque<Future<T>> pending = new ArrayDeque<Future<T>>();
+        try {
+            for (int block = 0; block < blockCount; block++) {
+                pending.add(pool.submit(tasks.create(block)));
+                if (pending.size() >= window) {
+                    sink.accept(join(pending.poll()));
+                }
+            }
+            while (!pending.isEmpty()) {
+                sink.accept(join(pending.poll()));
+            }
+        } finally {
+            for (Future<T> task : pending) {
+                task.cancel(true);
+            }
+        }
+    }
+
+    private static <T> T join(final Future<T> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final InterruptedIOException interrupted =
+                    new InterruptedIOException("Interrupted while waiting for a block");
+            interrupted.initCause(e);
+            throw interrupted;
+        } catch (ExecutionException e) {
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+            }
+            throw new IOException("Block task failed", e);
+        }
+    }
+
+    private interface BlockTasks<T> {
+        Callable<T> create(int block) throws IOException;
+    }
+
+    private interface BlockSink<T> {
+        void accept(T result) throws IOException;
+    }
+}
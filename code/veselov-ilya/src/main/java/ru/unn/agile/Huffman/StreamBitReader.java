@@ -0,0 +1,51 @@
+package ru.unn.agile.Huffman;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+final class StreamBitReader {
+    private static final int BUFFER_SIZE = 65536;
+    private static final int BYTE_MASK = 0xFF;
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long window;
+    private int available;
+    private boolean endOfStream;
+
+    StreamBitReader(final InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Returns the next 64 bits MSB-first, zero-padded past the end of the stream.
+     */
+    long peek() throws IOException {
+        while (available <= Long.SIZE - Byte.SIZE && !endOfStream) {
+            if (position == limit) {
+                fillBuffer();
+            } else {
+                final long next = buffer[position++] & BYTE_MASK;
+                window |= next << (Long.SIZE - Byte.SIZE - available);
+                available += Byte.SIZE;
+            }
+        }
+        return window;
+    }
+
+    void skip(final int length) throws IOException {
+        if (length > available) {
+            throw new EOFException("Unexpected end of compressed data");
+        }
+        window <<= length;
+        available -= length;
+    }
+
+    private void fillBuffer() throws IOException {
+        position = 0;
+        limit = Math.max(0, in.read(buffer));
+        endOfStream = limit == 0;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.unn.agile.Huffman;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+final class StreamBitWriter {
+    private static final int BUFFER_SIZE = 65536;
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private long bits;
+    private int bitCount;
+
+    StreamBitWriter(final OutputStream out) {
+        this.out = out;
+    }
+
+    void write(final long code, final int length) throws IOException {
+        bits = bits << length | code;
+        bitCount += length;
+        while (bitCount >= Byte.SIZE) {
+            bitCount -= Byte.SIZE;
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            buffer[position++] = (byte) (bits >>> bitCount);
+        }
+    }
+
+    /**
+     * Pads the last byte with zero bits and flushes everything buffered so far.
+     */
+    void finish() throws IOException {
+        if (bitCount > 0) {
+            write(0, Byte.SIZE - bitCount);
+        }
+        flushBuffer();
+    }
+
+    private void flushBuffer() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
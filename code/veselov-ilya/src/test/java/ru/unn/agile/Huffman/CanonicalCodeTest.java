@@ -0,0 +1,150 @@
+package ru.unn.agile.Huffman;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CanonicalCodeTest {
+    private static final String INIT_STR = "abbcccddddeeeee";
+
+    @Test
+    public void codesAreAssignedInCanonicalOrder() {
+        final CanonicalCode code = CanonicalCode.fromCodeLengths(new int[] {2, 1, 3, 3});
+        assertEquals("10", code.encode("\u0000").toString());
+        assertEquals("0", code.encode("\u0001").toString());
+        assertEquals("110", code.encode("\u0002").toString());
+        assertEquals("111", code.encode("\u0003").toString());
+    }
+
+    @Test
+    public void canDecodeEncodedString() {
+        final CanonicalCode code = CanonicalCode.forText(INIT_STR);
+        assertEquals(INIT_STR, code.decode(code.encode(INIT_STR)));
+    }
+
+    @Test
+    public void canDecodeSingleSymbolString() {
+        final CanonicalCode code = CanonicalCode.forText("aaa");
+        assertEquals(3, code.encode("aaa").getLength());
+        assertEquals("aaa", code.decode(code.encode("aaa")));
+    }
+
+    @Test
+    public void canonicalCodeKeepsLengthsOfCurrentHTree() {
+        final HuffmanAlg huffmanAlg = new HuffmanAlg();
+        final String binary = huffmanAlg.encodeString(INIT_STR);
+        final CanonicalCode code = huffmanAlg.canonicalCodeOfCurrentHTree();
+        final BitSequence bits = code.encode(INIT_STR);
+        assertEquals(binary.length(), bits.getLength());
+        assertEquals(INIT_STR, code.decode(bits));
+    }
+
+    @Test(timeout = 20000)
+    public void canonicalCodeOfDeepHTreeIsLimited() {
+        final long[] frequencies = fibonacciFrequencies(34);
+        final StringBuilder text = new StringBuilder();
+        for (int symbol = 0; symbol < frequencies.length; symbol++) {
+            for (long i = 0; i < frequencies[symbol]; i++) {
+                text.append((char) ('a' + symbol));
+            }
+        }
+        final HuffmanAlg huffmanAlg = new HuffmanAlg();
+        huffmanAlg.buildTree(text.toString());
+        final CanonicalCode code = huffmanAlg.canonicalCodeOfCurrentHTree();
+        assertTrue("Wrong code length!", code.getCodeLength('a') <= CanonicalCode.MAX_CODE_LENGTH);
+        assertEquals("abcz", code.decode(code.encode("abcz")));
+    }
+
+    @Test
+    public void canDecodeCodesLongerThanLookupTable() {
+        final long[] frequencies = fibonacciFrequencies(20);
+        final CanonicalCode code = CanonicalCode.fromFrequencies(frequencies);
+        assertEquals(19, code.getCodeLength(0));
+        final String text = "\u0000\u0013\u0001\u0000\u0012";
+        assertEquals(text, code.decode(code.encode(text)));
+    }
+
+    @Test
+    public void codeLengthsAreLimited() {
+        final CanonicalCode code = CanonicalCode.fromFrequencies(fibonacciFrequencies(60));
+        for (int symbol = 0; symbol < 60; symbol++) {
+            assertTrue("Wrong code length!", code.getCodeLength(symbol) > 0
+                    && code.getCodeLength(symbol) <= CanonicalCode.MAX_CODE_LENGTH);
+        }
+        final String text = "\u0000;\u0001\u001e";
+        assertEquals(text, code.decode(code.encode(text)));
+    }
+
+    @Test
+    public void codeLengthsSurviveSerialization() throws IOException {
+        final CanonicalCode code = CanonicalCode.forText("aeiou" + INIT_STR);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        code.writeCodeLengths(out);
+        assertTrue("Wrong header size!", out.size() < 20);
+        final CanonicalCode restored =
+                CanonicalCode.readCodeLengths(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(code.getAlphabetSize(), restored.getAlphabetSize());
+        assertEquals(code.encode(INIT_STR).toString(), restored.encode(INIT_STR).toString());
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedCodeLengthsGiveException() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CanonicalCode.forText(INIT_STR).writeCodeLengths(out);
+        final byte[] truncated = new byte[out.size() - 1];
+        System.arraycopy(out.toByteArray(), 0, truncated, 0, truncated.length);
+        CanonicalCode.readCodeLengths(new ByteArrayInputStream(truncated));
+    }
+
+    @Test(expected = IOException.class)
+    public void hugeAlphabetSizeGivesException() throws IOException {
+        final byte[] header = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        CanonicalCode.readCodeLengths(new ByteArrayInputStream(header));
+    }
+
+    @Test(expected = IOException.class)
+    public void negativeAlphabetSizeGivesException() throws IOException {
+        final byte[] header = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        CanonicalCode.readCodeLengths(new ByteArrayInputStream(header));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void oversubscribedCodeLengthsGiveException() {
+        CanonicalCode.fromCodeLengths(new int[] {1, 1, 2});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encodeMissingSymbolGivesException() {
+        CanonicalCode.forText(INIT_STR).encode("abz");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void incompleteBinarySequenceGivesException() {
+        final CanonicalCode code = CanonicalCode.fromCodeLengths(new int[] {2, 1, 3, 3});
+        final BitWriter writer = new BitWriter();
+        writer.write(3, 2);
+        code.decode(writer.toBitSequence());
+    }
+
+    @Test(timeout = 10000)
+    public void decodeMultiMegabyteString() {
+        final String text = PackedEncodingTest.randomText(4000000);
+        final CanonicalCode code = CanonicalCode.forText(text);
+        assertEquals(text, code.decode(code.encode(text)));
+    }
+
+    private static long[] fibonacciFrequencies(final int count) {
+        final long[] frequencies = new long[count];
+        frequencies[0] = 1;
+        frequencies[1] = 1;
+        for (int i = 2; i < count; i++) {
+            frequencies[i] = frequencies[i - 1] + frequencies[i - 2];
+        }
+        return frequencies;
+    }
+}
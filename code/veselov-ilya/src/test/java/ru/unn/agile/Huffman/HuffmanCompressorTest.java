@@ -0,0 +1,134 @@
+package ru.unn.agile.Huffman;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HuffmanCompressorTest {
+    private Path path;
+
+    @Before
+    public void setUp() throws IOException {
+        path = Files.createTempFile("huffman", ".bin");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void canRestoreAllByteValues() throws IOException {
+        final byte[] data = new byte[100000];
+        new Random(1).nextBytes(data);
+        assertArrayEquals(data, decompress(compress(data)));
+    }
+
+    @Test
+    public void canRestoreEmptyFile() throws IOException {
+        assertArrayEquals(new byte[0], decompress(compress(new byte[0])));
+    }
+
+    @Test
+    public void singleByteValueTakesOneBitPerByte() throws IOException {
+        final byte[] data = new byte[8000];
+        Arrays.fill(data, (byte) 0xE9);
+        final byte[] compressed = compress(data);
+        assertTrue("Wrong compressed size!", compressed.length < 1100);
+        assertArrayEquals(data, decompress(compressed));
+    }
+
+    @Test
+    public void skewedDataIsPacked() throws IOException {
+        final byte[] data = skewedBytes(100000, 2);
+        final byte[] compressed = compress(data);
+        assertTrue("Wrong compressed size!", compressed.length < data.length / 2);
+        assertArrayEquals(data, decompress(compressed));
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedStreamGivesException() throws IOException {
+        final byte[] compressed = compress(skewedBytes(1000, 3));
+        decompress(Arrays.copyOf(compressed, compressed.length - 10));
+    }
+
+    @Test(expected = IOException.class)
+    public void wrongMagicGivesException() throws IOException {
+        final byte[] compressed = compress(skewedBytes(1000, 4));
+        compressed[0] = 0;
+        decompress(compressed);
+    }
+
+    @Test(expected = IOException.class)
+    public void oversizedAlphabetGivesException() throws IOException {
+        final byte[] compressed = compress(skewedBytes(1000, 6));
+        compressed[12] = (byte) 0x81;
+        decompress(compressed);
+    }
+
+    @Test(timeout = 20000)
+    public void streamLargeFileWithBoundedMemory() throws IOException {
+        final byte[] chunk = skewedBytes(1 << 20, 5);
+        final CRC32 expected = new CRC32();
+        try (OutputStream out = Files.newOutputStream(path)) {
+            for (int i = 0; i < 32; i++) {
+                out.write(chunk);
+                expected.update(chunk);
+            }
+        }
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        assertEquals(32L << 20, HuffmanCompressor.compress(path, compressed));
+        assertTrue("Wrong compressed size!", compressed.size() < 16 << 20);
+        final CheckedOutputStream restored = new CheckedOutputStream(new NullOutputStream(),
+                new CRC32());
+        HuffmanCompressor.decompress(new ByteArrayInputStream(compressed.toByteArray()), restored);
+        assertEquals(expected.getValue(), restored.getChecksum().getValue());
+    }
+
+    static byte[] skewedBytes(final int length, final long seed) {
+        final Random random = new Random(seed);
+        final byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) Math.min(255, (int) Math.abs(random.nextGaussian() * 4));
+        }
+        return data;
+    }
+
+    private byte[] compress(final byte[] data) throws IOException {
+        Files.write(path, data);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(data.length, HuffmanCompressor.compress(path, out));
+        return out.toByteArray();
+    }
+
+    private static byte[] decompress(final byte[] compressed) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HuffmanCompressor.decompress(new ByteArrayInputStream(compressed), out);
+        return out.toByteArray();
+    }
+
+    private static final class NullOutputStream extends OutputStream {
+        @Override
+        public void write(final int b) {
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.unn.agile.Huffman;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class PackedEncodingTest {
+    private static final String INIT_STR = "abbcccddddeeeee";
+    private HuffmanAlg huffmanAlg;
+
+    @Before
+    public void setUp() {
+        huffmanAlg = new HuffmanAlg();
+    }
+
+    @Test
+    public void packedCodeMatchesBinaryString() {
+        final String binary = huffmanAlg.encodeString(INIT_STR);
+        final BitSequence bits = huffmanAlg.encodeToBitsByCurrentHTree(INIT_STR);
+        assertEquals(binary.length(), bits.getLength());
+        assertEquals(binary, bits.toString());
+    }
+
+    @Test
+    public void packedCodeOfSingleSymbolString() {
+        huffmanAlg.encodeString("aaa");
+        assertEquals("11", huffmanAlg.encodeToBitsByCurrentHTree("aa").toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void packedEncodeWithMissingCharGivesException() {
+        huffmanAlg.encodeString(INIT_STR);
+        huffmanAlg.encodeToBitsByCurrentHTree("abz");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encodeNonAsciiCharGivesException() {
+        huffmanAlg.encodeString(INIT_STR);
+        huffmanAlg.encodeStringByCurrentHTree("a\u0416");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void packedEncodeOfCharOutsideTableGivesException() {
+        huffmanAlg.encodeString(INIT_STR);
+        huffmanAlg.encodeToBitsByCurrentHTree("a\u0416");
+    }
+
+    @Test
+    public void canEncodeAndDecodeNonAsciiChars() {
+        final String text = "a\u0416\u0416b\uffff";
+        final String binary = huffmanAlg.encodeString(text);
+        assertEquals(text, huffmanAlg.decodeBinarySequenceByCurrentHTree(binary));
+    }
+
+    @Test(timeout = 10000)
+    public void encodeMultiMegabyteString() {
+        final String text = randomText(4000000);
+        final String binary = huffmanAlg.encodeString(text);
+        final BitSequence bits = huffmanAlg.encodeToBitsByCurrentHTree(text);
+        assertEquals(binary, bits.toString());
+    }
+
+    static String randomText(final int length) {
+        final Random random = new Random(1);
+        final char[] text = new char[length];
+        for (int i = 0; i < length; i++) {
+            text[i] = (char) ('a' + Math.min(25, (int) Math.abs(random.nextGaussian() * 6)));
+        }
+        return new String(text);
+    }
+}
@@ -0,0 +1,169 @@
+package ru.unn.agile.Huffman;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelHuffmanCompressorTest {
+    private static final byte[] ABRACADABRA = "abracadabra".getBytes(StandardCharsets.US_ASCII);
+    private Path path;
+    private ForkJoinPool pool;
+
+    @Before
+    public void setUp() throws IOException {
+        path = Files.createTempFile("huffman", ".bin");
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void blockFormatIsStable() throws IOException {
+        assertEquals("48554632000000000000000b00000004"
+                + "8002006101030303000d03008d01"
+                + "000000014e" + "00000001ac" + "000000019c",
+                toHex(compress(ABRACADABRA, 4, pool)));
+    }
+
+    @Test
+    public void streamFormatIsStable() throws IOException {
+        Files.write(path, ABRACADABRA);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HuffmanCompressor.compress(path, out);
+        assertEquals("48554631000000000000000b"
+                + "8002006101030303000d03008d01" + "4eac9c",
+                toHex(out.toByteArray()));
+    }
+
+    @Test
+    public void canRestoreBlocksWithUnevenTail() throws IOException {
+        final byte[] data = HuffmanCompressorTest.skewedBytes(100003, 1);
+        assertArrayEquals(data, decompress(compress(data, 1000, pool), pool));
+    }
+
+    @Test
+    public void canRestoreEmptyFile() throws IOException {
+        assertArrayEquals(new byte[0], decompress(compress(new byte[0], 1000, pool), pool));
+    }
+
+    @Test
+    public void outputDoesNotDependOnParallelism() throws IOException {
+        final byte[] data = HuffmanCompressorTest.skewedBytes(50000, 2);
+        final ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            assertArrayEquals(compress(data, 4096, single), compress(data, 4096, pool));
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    public void sequentialDecompressReadsBlockFormat() throws IOException {
+        final byte[] data = HuffmanCompressorTest.skewedBytes(50000, 3);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HuffmanCompressor.decompress(new ByteArrayInputStream(compress(data, 4096, pool)), out);
+        assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test
+    public void parallelDecompressReadsStreamFormat() throws IOException {
+        final byte[] data = HuffmanCompressorTest.skewedBytes(50000, 4);
+        Files.write(path, data);
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        HuffmanCompressor.compress(path, compressed);
+        assertArrayEquals(data, decompress(compressed.toByteArray(), pool));
+    }
+
+    @Test(expected = IOException.class)
+    public void corruptedBlockIndexGivesException() throws IOException {
+        final byte[] compressed = compress(ABRACADABRA, 4, pool);
+        compressed[compressed.length - 5] = (byte) 0x7F;
+        decompress(compressed, pool);
+    }
+
+    @Test
+    public void oversizedBlockSizeGivesException() throws IOException {
+        final byte[] compressed = compress(ABRACADABRA, 4, pool);
+        compressed[12] = (byte) 0x7F;
+        try {
+            decompress(compressed, pool);
+            fail("Oversized block size was accepted!");
+        } catch (IOException e) {
+            assertEquals("Corrupted block size", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compressWithOversizedBlockGivesException() throws IOException {
+        compress(ABRACADABRA, ParallelHuffmanCompressor.MAX_BLOCK_SIZE + 1, pool);
+    }
+
+    @Test(expected = EOFException.class)
+    public void corruptedBlockPayloadGivesEndOfDataException() throws IOException {
+        final byte[] compressed = compress(ABRACADABRA, 4, pool);
+        compressed[compressed.length - 1] = (byte) 0xFF;
+        decompress(compressed, pool);
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncatedBlockGivesException() throws IOException {
+        final byte[] compressed = compress(HuffmanCompressorTest.skewedBytes(5000, 5), 1000, pool);
+        decompress(Arrays.copyOf(compressed, compressed.length - 3), pool);
+    }
+
+    @Test(timeout = 20000)
+    public void compressLargeFileOnAllCores() throws IOException {
+        final byte[] data = HuffmanCompressorTest.skewedBytes(24 << 20, 6);
+        final ForkJoinPool common = ForkJoinPool.commonPool();
+        final byte[] compressed = compress(data, ParallelHuffmanCompressor.DEFAULT_BLOCK_SIZE,
+                common);
+        assertTrue("Wrong compressed size!", compressed.length < data.length / 2);
+        assertArrayEquals(data, decompress(compressed, common));
+    }
+
+    private byte[] compress(final byte[] data, final int blockSize, final ForkJoinPool executor)
+            throws IOException {
+        Files.write(path, data);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (FileChannel channel = FileChannel.open(path)) {
+            assertEquals(data.length,
+                    ParallelHuffmanCompressor.compress(channel, out, executor, blockSize));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] decompress(final byte[] compressed, final ForkJoinPool executor)
+            throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ParallelHuffmanCompressor.decompress(new ByteArrayInputStream(compressed), out, executor);
+        return out.toByteArray();
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}